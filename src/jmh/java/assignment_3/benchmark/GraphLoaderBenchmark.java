@@ -0,0 +1,118 @@
+package assignment_3.benchmark;
+
+import assignment_3.io.BinaryGraphWriter;
+import assignment_3.io.GraphLoader;
+import assignment_3.io.MappedGraphFile;
+import assignment_3.io.StreamingGraphLoader;
+import assignment_3.io.StreamingGraphLoader.NamedCompactGraph;
+import assignment_3.model.CompactGraph;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load time of the same generated graph through every input path: the
+ * Graph-building loader, the streaming CSR loader and the mapped binary file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GraphLoaderBenchmark {
+
+    @Param({"sparse", "dense"})
+    public String family;
+
+    @Param({"10000", "100000"})
+    public int vertices;
+
+    private Path directory;
+    private Path json;
+    private Path binary;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        CompactGraph graph = MSTEngineBenchmark.family(family, vertices, 42);
+        directory = Files.createTempDirectory("mst-loader-bench");
+        json = directory.resolve("graph.json");
+        binary = directory.resolve("graph.mstg");
+        writeJson(graph, json);
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(binary)) {
+            writer.write("Bench", graph, true);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(json);
+        Files.deleteIfExists(binary);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<GraphLoader.NamedGraph> jsonToGraph() throws IOException {
+        return new GraphLoader().loadGraphs(json.toString());
+    }
+
+    @Benchmark
+    public NamedCompactGraph jsonToCompactGraph() throws IOException {
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(json.toString())) {
+            return loader.nextCompactGraph();
+        }
+    }
+
+    /** Opening the mapping plus one full pass over the weights, so pages are actually touched. */
+    @Benchmark
+    public double mappedBinary() throws IOException {
+        try (MappedGraphFile file = MappedGraphFile.open(binary)) {
+            MappedGraphFile.MappedGraph g = file.getGraphs().get(0);
+            double sum = 0;
+            for (int e = 0; e < g.getEdgeCount(); e++) sum += g.getEdgeWeight(e);
+            return sum;
+        }
+    }
+
+    private static void writeJson(CompactGraph graph, Path path) throws IOException {
+        try (JsonGenerator gen = new JsonFactory().createGenerator(path.toFile(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("graphs");
+            gen.writeStartObject();
+            gen.writeStringField("name", "Bench");
+            gen.writeArrayFieldStart("vertices");
+            for (int v = 0; v < graph.getVertexCount(); v++) gen.writeString(graph.getVertexId(v));
+            gen.writeEndArray();
+            gen.writeArrayFieldStart("edges");
+            for (int e = 0; e < graph.getEdgeCount(); e++) {
+                gen.writeStartObject();
+                gen.writeStringField("from", graph.getVertexId(graph.getEdgeFrom(e)));
+                gen.writeStringField("to", graph.getVertexId(graph.getEdgeTo(e)));
+                gen.writeNumberField("weight", (int) graph.getEdgeWeight(e));
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+}
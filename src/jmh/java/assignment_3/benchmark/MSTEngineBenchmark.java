@@ -0,0 +1,106 @@
+package assignment_3.benchmark;
+
+import assignment_3.algorithms.AdaptiveMSTAlgorithm;
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.BoruvkaAlgorithm;
+import assignment_3.algorithms.DensePrimAlgorithm;
+import assignment_3.algorithms.FilterKruskalAlgorithm;
+import assignment_3.algorithms.IndexedPrimAlgorithm;
+import assignment_3.algorithms.KruskalAlgorithm;
+import assignment_3.algorithms.MSTAlgorithm;
+import assignment_3.algorithms.PrimAlgorithm;
+import assignment_3.model.CompactGraph;
+import assignment_3.util.GraphGenerator;
+import assignment_3.util.GraphGenerator.Topology;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Average time per MST for every engine over graph families and sizes.
+ * The graph is built once per trial, so only the engine itself is measured.
+ * Families: sparse (E = 4V), dense (E = V^1.5), grid, geometric, power-law, complete.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MSTEngineBenchmark {
+
+    @Param({"Prim", "IndexedPrim", "DensePrim", "Kruskal", "Boruvka", "FilterKruskal", "Adaptive"})
+    public String engine;
+
+    @Param({"sparse", "grid", "geometric", "power-law", "dense", "complete"})
+    public String family;
+
+    @Param({"1000", "4000"})
+    public int vertices;
+
+    private MSTAlgorithm algorithm;
+    private CompactGraph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        algorithm = engine(engine);
+        graph = family(family, vertices, 42);
+    }
+
+    @Benchmark
+    public AlgorithmResult mst() {
+        return algorithm.run(graph);
+    }
+
+    /** Benchmark families on top of {@link GraphGenerator}; all connected, integral weights. */
+    static CompactGraph family(String family, int vertices, long seed) {
+        switch (family) {
+            case "sparse":
+                return new GraphGenerator(vertices, 4L * vertices, seed, Topology.CHAIN_RANDOM, family).toCompactGraph();
+            case "dense":
+                return new GraphGenerator(vertices, (long) (vertices * Math.sqrt(vertices)), seed,
+                        Topology.CHAIN_RANDOM, family).toCompactGraph();
+            case "grid":
+                return new GraphGenerator(vertices, 0, seed, Topology.GRID, family).toCompactGraph();
+            case "geometric":
+                return new GraphGenerator(vertices, 4L * vertices, seed, Topology.GEOMETRIC, family).toCompactGraph();
+            case "power-law":
+                return new GraphGenerator(vertices, 4L * vertices, seed, Topology.POWER_LAW, family).toCompactGraph();
+            case "complete":
+                return new GraphGenerator(vertices, 0, seed, Topology.COMPLETE, family).toCompactGraph();
+            default:
+                throw new IllegalArgumentException("Unknown graph family: " + family);
+        }
+    }
+
+    static MSTAlgorithm engine(String name) {
+        switch (name) {
+            case "Prim":
+                return new PrimAlgorithm();
+            case "IndexedPrim":
+                return new IndexedPrimAlgorithm();
+            case "DensePrim":
+                return new DensePrimAlgorithm();
+            case "Kruskal":
+                return new KruskalAlgorithm();
+            case "Boruvka":
+                return new BoruvkaAlgorithm();
+            case "FilterKruskal":
+                return new FilterKruskalAlgorithm();
+            case "Adaptive":
+                return new AdaptiveMSTAlgorithm();
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + name);
+        }
+    }
+}
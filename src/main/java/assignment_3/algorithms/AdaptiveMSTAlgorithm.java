@@ -0,0 +1,153 @@
+package assignment_3.algorithms;
+
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import assignment_3.model.EdgeList;
+import assignment_3.model.Graph;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Facade that runs a single engine per graph, picked from V, E and the
+ * weight type:
+ *
+ * <pre>
+ *   density >= dense.min.density                      -> DensePrim   (O(V^2), no heap)
+ *   E >= parallel.min.edges and more than one core    -> Boruvka
+ *   average degree >= heap.min.average.degree[.integral] -> IndexedPrim (per component)
+ *   E >= filter.min.edges                             -> FilterKruskal
+ *   otherwise                                         -> Kruskal
+ * </pre>
+ *
+ * Every branch returns a minimum spanning forest, so thresholds never change
+ * the result of a disconnected graph: IndexedPrim, which alone would span
+ * only the first vertex's component, runs inside a
+ * {@link SpanningForestAlgorithm}.
+ *
+ * Integral weights get their own degree threshold because Kruskal radix
+ * sorts them in linear time. Defaults live in {@code mst-adaptive.properties}
+ * on the classpath; any key can be overridden with a system property of the
+ * same name prefixed by {@code mst.adaptive.}, e.g.
+ * {@code -Dmst.adaptive.dense.min.density=0.5}. Re-tune them from the
+ * MSTEngineBenchmark results ({@code mvn -Pbenchmarks package}).
+ */
+public class AdaptiveMSTAlgorithm implements MSTAlgorithm {
+
+    private final Thresholds thresholds;
+    private final int parallelism;
+
+    private final MSTAlgorithm densePrim = new DensePrimAlgorithm();
+    private final MSTAlgorithm indexedPrim = new SpanningForestAlgorithm(new IndexedPrimAlgorithm());
+    private final MSTAlgorithm kruskal = new KruskalAlgorithm();
+    private final MSTAlgorithm filterKruskal = new FilterKruskalAlgorithm();
+    private final MSTAlgorithm boruvka = new BoruvkaAlgorithm();
+
+    public AdaptiveMSTAlgorithm() {
+        this(Thresholds.load(), Runtime.getRuntime().availableProcessors());
+    }
+
+    public AdaptiveMSTAlgorithm(Thresholds thresholds, int parallelism) {
+        this.thresholds = thresholds;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String getName() {
+        return "Adaptive";
+    }
+
+    @Override
+    public AlgorithmResult run(Graph graph) {
+        return choose(graph).run(graph);
+    }
+
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        return choose(graph).run(graph);
+    }
+
+    /** The engine {@link #run(Graph)} would dispatch to. */
+    public MSTAlgorithm choose(Graph graph) {
+        boolean integral = true;
+        for (Edge e : graph.getEdges()) {
+            if (e.getWeight() != Math.rint(e.getWeight())) {
+                integral = false;
+                break;
+            }
+        }
+        return choose(graph.getVertices().size(), graph.getEdges().size(), integral);
+    }
+
+    /** The engine {@link #run(CompactGraph)} would dispatch to. */
+    public MSTAlgorithm choose(EdgeList graph) {
+        boolean integral = true;
+        for (int e = 0; e < graph.getEdgeCount() && integral; e++) {
+            double w = graph.getEdgeWeight(e);
+            integral = w == Math.rint(w);
+        }
+        return choose(graph.getVertexCount(), graph.getEdgeCount(), integral);
+    }
+
+    MSTAlgorithm choose(int vertices, long edges, boolean integralWeights) {
+        if (vertices < 2 || edges == 0) return kruskal;
+
+        double density = 2.0 * edges / ((double) vertices * (vertices - 1));
+        double averageDegree = 2.0 * edges / vertices;
+        double heapDegree = integralWeights
+                ? thresholds.heapMinAverageDegreeIntegral
+                : thresholds.heapMinAverageDegree;
+
+        if (density >= thresholds.denseMinDensity) return densePrim;
+        if (edges >= thresholds.parallelMinEdges && parallelism > 1) return boruvka;
+        if (averageDegree >= heapDegree) return indexedPrim;
+        if (edges >= thresholds.filterMinEdges) return filterKruskal;
+        return kruskal;
+    }
+
+    /** Dispatch thresholds; see the class comment for their meaning. */
+    public static final class Thresholds {
+        static final String RESOURCE = "/mst-adaptive.properties";
+        static final String OVERRIDE_PREFIX = "mst.adaptive.";
+
+        final double denseMinDensity;
+        final double heapMinAverageDegree;
+        final double heapMinAverageDegreeIntegral;
+        final long parallelMinEdges;
+        final long filterMinEdges;
+
+        public Thresholds(double denseMinDensity, double heapMinAverageDegree,
+                          double heapMinAverageDegreeIntegral, long parallelMinEdges, long filterMinEdges) {
+            this.denseMinDensity = denseMinDensity;
+            this.heapMinAverageDegree = heapMinAverageDegree;
+            this.heapMinAverageDegreeIntegral = heapMinAverageDegreeIntegral;
+            this.parallelMinEdges = parallelMinEdges;
+            this.filterMinEdges = filterMinEdges;
+        }
+
+        /** Classpath defaults, overridden by mst.adaptive.* system properties. */
+        public static Thresholds load() {
+            Properties defaults = new Properties();
+            try (InputStream in = Thresholds.class.getResourceAsStream(RESOURCE)) {
+                if (in != null) defaults.load(in);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot read " + RESOURCE, ex);
+            }
+            for (String key : defaults.stringPropertyNames()) {
+                String override = System.getProperty(OVERRIDE_PREFIX + key);
+                if (override != null) defaults.setProperty(key, override);
+            }
+            return from(defaults);
+        }
+
+        public static Thresholds from(Properties p) {
+            return new Thresholds(
+                    Double.parseDouble(p.getProperty("dense.min.density", "0.35")),
+                    Double.parseDouble(p.getProperty("heap.min.average.degree", "16")),
+                    Double.parseDouble(p.getProperty("heap.min.average.degree.integral", "48")),
+                    Long.parseLong(p.getProperty("parallel.min.edges", "4000000")),
+                    Long.parseLong(p.getProperty("filter.min.edges", "262144")));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package assignment_3.algorithms;
 
+import assignment_3.metrics.MSTMetrics;
 import assignment_3.model.Edge;
 import java.util.List;
 
@@ -10,6 +11,8 @@ public class AlgorithmResult {
     private int vertexCount;
     private int edgeCount;
     private List<Edge> edges;
+    private TimingStats timing;
+    private MSTMetrics metrics;
 
     public AlgorithmResult(double totalCost, long executionTimeMs, long operationCount,
                            int vertexCount, int edgeCount, List<Edge> edges) {
@@ -21,6 +24,28 @@ public class AlgorithmResult {
         this.edges = edges;
     }
 
+    /**
+     * Copy of this result carrying repeated-trial statistics. The single-run
+     * execution time is replaced by the median trial time.
+     */
+    public AlgorithmResult withTiming(TimingStats timing) {
+        AlgorithmResult copy = new AlgorithmResult(totalCost, timing.getMedianNanos() / 1_000_000,
+                operationCount, vertexCount, edgeCount, edges);
+        copy.timing = timing;
+        copy.metrics = metrics;
+        return copy;
+    }
+
+    /** Attaches the run's operation counters; a null argument (metrics disabled) returns this result. */
+    public AlgorithmResult withMetrics(MSTMetrics metrics) {
+        if (metrics == null) return this;
+        AlgorithmResult copy = new AlgorithmResult(totalCost, executionTimeMs,
+                operationCount, vertexCount, edgeCount, edges);
+        copy.timing = timing;
+        copy.metrics = metrics;
+        return copy;
+    }
+
     public double getTotalCost() {
         return totalCost;
     }
@@ -44,4 +69,14 @@ public class AlgorithmResult {
     public List<Edge> getEdges() {
         return edges;
     }
+
+    /** Repeated-trial statistics, or null if the result comes from a single plain run. */
+    public TimingStats getTiming() {
+        return timing;
+    }
+
+    /** Fine-grained operation counters, or null unless -Dmst.metrics=true. */
+    public MSTMetrics getMetrics() {
+        return metrics;
+    }
 }
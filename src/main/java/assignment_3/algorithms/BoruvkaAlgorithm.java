@@ -0,0 +1,180 @@
+package assignment_3.algorithms;
+
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import assignment_3.model.Graph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntFunction;
+
+/**
+ * Parallel Borůvka-then-Kruskal MST engine on a {@link ForkJoinPool}.
+ *
+ * Each round splits the live edges into chunks; every chunk finds, for each
+ * component it touches, the cheapest outgoing edge (CAS-min per component)
+ * and drops edges that already lie inside one component. The chosen edges
+ * are then contracted through a {@link ConcurrentDisjointSet}. Ties are
+ * broken by edge index, so the chosen edges never form a cycle. Once few
+ * edges are left, the remaining contraction is finished with a sequential
+ * Kruskal pass, which is cheaper than more synchronized rounds.
+ *
+ * Results carry no {@link assignment_3.metrics.MSTMetrics}: the counters are
+ * not thread-safe, so progress is reported through phase events only.
+ */
+public class BoruvkaAlgorithm implements MSTAlgorithm {
+
+    /** Default live edge count below which the rest is handed to sequential Kruskal. */
+    public static final int DEFAULT_KRUSKAL_CUTOFF = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final int kruskalCutoff;
+
+    public BoruvkaAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BoruvkaAlgorithm(ForkJoinPool pool) {
+        this(pool, DEFAULT_KRUSKAL_CUTOFF);
+    }
+
+    /** A cutoff of 0 runs pure Borůvka rounds until no component has an outgoing edge. */
+    public BoruvkaAlgorithm(ForkJoinPool pool, int kruskalCutoff) {
+        this.pool = pool;
+        this.kruskalCutoff = kruskalCutoff;
+    }
+
+    @Override
+    public String getName() {
+        return "Boruvka";
+    }
+
+    /** Runs on the frozen form of the graph; result edges are the graph's own Edge objects. */
+    @Override
+    public AlgorithmResult run(Graph graph) {
+        long start = System.nanoTime(); // freezing the graph is part of the run
+        List<Edge> edges = graph.getEdges();
+        return solve(graph.toCompactGraph(), edges::get, start);
+    }
+
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        return solve(graph, graph::toEdge, System.nanoTime());
+    }
+
+    private AlgorithmResult solve(CompactGraph graph, IntFunction<Edge> edgeOf, long start) {
+        long operations = 0;
+
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        ConcurrentDisjointSet uf = new ConcurrentDisjointSet(n);
+        boolean[] inTree = new boolean[m];
+        int treeEdges = 0;
+
+        int[] live = new int[m];
+        for (int e = 0; e < m; e++) live[e] = e;
+        int liveCount = m;
+
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        int chunks = Math.max(1, pool.getParallelism() * 4);
+        PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.MAIN_LOOP);
+
+        while (liveCount >= kruskalCutoff && treeEdges < n - 1) {
+            for (int v = 0; v < n; v++) cheapest.set(v, -1);
+            operations += liveCount;
+
+            // --- Phase 1: cheapest outgoing edge per component, compacting each chunk ---
+            int[] kept = findCheapest(graph, uf, live, liveCount, cheapest, chunks);
+            liveCount = ParallelChunks.concatenate(live, 0, liveCount, kept);
+
+            // --- Phase 2: contract along every chosen edge ---
+            int added = contract(graph, uf, cheapest, inTree, chunks);
+            if (added == 0) break; // remaining components have no outgoing edges
+            treeEdges += added;
+            operations += added;
+        }
+
+        phase.finish(n, m);
+
+        // --- Finish the tail with sequential Kruskal over the surviving edges ---
+        if (treeEdges < n - 1 && liveCount > 0) {
+            phase = PhaseEvent.begin(getName(), PhaseEvent.SORT);
+            double[] weights = new double[liveCount];
+            for (int i = 0; i < liveCount; i++) weights[i] = graph.getEdgeWeight(live[i]);
+            for (int i : EdgeSorter.sortByWeight(weights)) {
+                int e = live[i];
+                operations++;
+                if (uf.union(graph.getEdgeFrom(e), graph.getEdgeTo(e))) {
+                    inTree[e] = true;
+                    if (++treeEdges == n - 1) break;
+                }
+            }
+            phase.finish(n, liveCount);
+        }
+
+        List<Edge> mstEdges = new ArrayList<>(treeEdges);
+        double totalCost = 0.0;
+        for (int e = 0; e < m; e++) {
+            if (inTree[e]) {
+                mstEdges.add(edgeOf.apply(e));
+                totalCost += graph.getEdgeWeight(e);
+            }
+        }
+
+        long time = (System.nanoTime() - start) / 1_000_000;
+        return new AlgorithmResult(totalCost, time, operations, n, m, mstEdges);
+    }
+
+    /** Scans live edges in parallel chunks; returns how many edges each chunk kept at its front. */
+    private int[] findCheapest(CompactGraph graph, ConcurrentDisjointSet uf, int[] live, int liveCount,
+                               AtomicIntegerArray cheapest, int chunks) {
+        return ParallelChunks.run(pool, 0, liveCount, chunks, (chunk, from, to) -> {
+            int write = from;
+            for (int i = from; i < to; i++) {
+                int e = live[i];
+                int ru = uf.find(graph.getEdgeFrom(e));
+                int rv = uf.find(graph.getEdgeTo(e));
+                if (ru == rv) continue; // internal edge: drop for good
+                live[write++] = e;
+                offerCheapest(graph, cheapest, ru, e);
+                offerCheapest(graph, cheapest, rv, e);
+            }
+            return write - from;
+        });
+    }
+
+    /** Unions along every component's chosen edge; returns the number of edges added to the tree. */
+    private int contract(CompactGraph graph, ConcurrentDisjointSet uf, AtomicIntegerArray cheapest,
+                         boolean[] inTree, int chunks) {
+        int[] counts = ParallelChunks.run(pool, 0, cheapest.length(), chunks, (chunk, from, to) -> {
+            int added = 0;
+            for (int v = from; v < to; v++) {
+                int e = cheapest.get(v);
+                // Both endpoints' components may pick the same edge; only one union succeeds
+                if (e >= 0 && uf.union(graph.getEdgeFrom(e), graph.getEdgeTo(e))) {
+                    inTree[e] = true;
+                    added++;
+                }
+            }
+            return added;
+        });
+        int added = 0;
+        for (int count : counts) added += count;
+        return added;
+    }
+
+    /** CAS-min of edge e into the slot of component root r, ordered by (weight, index). */
+    private static void offerCheapest(CompactGraph graph, AtomicIntegerArray cheapest, int r, int e) {
+        double w = graph.getEdgeWeight(e);
+        while (true) {
+            int current = cheapest.get(r);
+            if (current >= 0) {
+                double cw = graph.getEdgeWeight(current);
+                if (cw < w || (cw == w && current <= e)) return;
+            }
+            if (cheapest.compareAndSet(r, current, e)) return;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package assignment_3.algorithms;
+
+import assignment_3.model.Edge;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Answers minimax (bottleneck) path queries over a computed MST or forest.
+ *
+ * The path between two vertices of a minimum spanning tree minimizes the
+ * heaviest edge over all paths of the original graph, so the bottleneck
+ * weight of u .. v is the largest weight on their tree path. The index roots
+ * every tree once (BFS) and stores binary-lifting tables: the 2^k-th
+ * ancestor of each vertex and the heaviest edge on the way to it. A query
+ * lifts both endpoints to their lowest common ancestor in O(log V); building
+ * costs O(V log V) time and memory. Queries never allocate, and the batch
+ * API can spread millions of pairs over a {@link ForkJoinPool}.
+ *
+ * Vertices are the endpoints of the result edges, interned to ids 0..V-1 in
+ * order of first appearance (see {@link #indexOf}).
+ */
+public class BottleneckPathIndex {
+
+    private static final int BATCH_CHUNK = 1 << 14;
+
+    private final Map<String, Integer> vertexIndex;
+    private final String[] vertexIds;
+    private final List<Edge> treeEdges;
+
+    // --- Rooted forest ---
+    private final int[] depth;
+    private final int[] component;   // root of the vertex's tree
+    private final int[] parentEdge;  // index into treeEdges, -1 at a root
+
+    // --- Binary lifting, level-major: up[k * n + v] is the 2^k-th ancestor ---
+    private final int levels;
+    private final int[] up;
+    private final double[] maxUp;    // heaviest edge between v and up[k * n + v]
+
+    private BottleneckPathIndex(Map<String, Integer> vertexIndex, String[] vertexIds, List<Edge> treeEdges,
+                                int[] edgeFrom, int[] edgeTo) {
+        this.vertexIndex = vertexIndex;
+        this.vertexIds = vertexIds;
+        this.treeEdges = treeEdges;
+        int n = vertexIds.length;
+        int m = edgeFrom.length;
+
+        // CSR adjacency of the tree edges
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            offsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] adjEdge = new int[2 * m];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            adjEdge[next[edgeFrom[e]]++] = e;
+            adjEdge[next[edgeTo[e]]++] = e;
+        }
+
+        // BFS from every unvisited vertex roots one tree each
+        depth = new int[n];
+        component = new int[n];
+        parentEdge = new int[n];
+        levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(n));
+        up = new int[levels * n];
+        maxUp = new double[levels * n];
+        Arrays.fill(component, -1);
+        int[] queue = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (component[root] >= 0) continue;
+            component[root] = root;
+            parentEdge[root] = -1;
+            up[root] = root;
+            maxUp[root] = Double.NEGATIVE_INFINITY;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int s = offsets[u]; s < offsets[u + 1]; s++) {
+                    int e = adjEdge[s];
+                    int v = edgeFrom[e] == u ? edgeTo[e] : edgeFrom[e];
+                    if (component[v] >= 0) {
+                        if (e != parentEdge[u]) {
+                            throw new IllegalArgumentException("Result edges contain a cycle through "
+                                    + vertexIds[u] + " -- " + vertexIds[v]);
+                        }
+                        continue;
+                    }
+                    component[v] = root;
+                    depth[v] = depth[u] + 1;
+                    parentEdge[v] = e;
+                    up[v] = u;
+                    maxUp[v] = treeEdges.get(e).getWeight();
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        for (int k = 1; k < levels; k++) {
+            int level = k * n;
+            int below = level - n;
+            for (int v = 0; v < n; v++) {
+                int mid = up[below + v];
+                up[level + v] = up[below + mid];
+                maxUp[level + v] = Math.max(maxUp[below + v], maxUp[below + mid]);
+            }
+        }
+    }
+
+    /** Indexes the edges of a computed MST or spanning forest. */
+    public static BottleneckPathIndex from(AlgorithmResult result) {
+        List<Edge> edges = result.getEdges();
+        Map<String, Integer> index = new HashMap<>(Math.max(16, 4 * edges.size()));
+        List<String> ids = new ArrayList<>();
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            from[e] = intern(index, ids, edges.get(e).getFrom().getId());
+            to[e] = intern(index, ids, edges.get(e).getTo().getId());
+        }
+        return new BottleneckPathIndex(index, ids.toArray(new String[0]), new ArrayList<>(edges), from, to);
+    }
+
+    private static int intern(Map<String, Integer> index, List<String> ids, String id) {
+        Integer existing = index.get(id);
+        if (existing != null) return existing;
+        index.put(id, ids.size());
+        ids.add(id);
+        return ids.size() - 1;
+    }
+
+    public int getVertexCount() {
+        return vertexIds.length;
+    }
+
+    /** Returns the interned id of a vertex name, or -1 if no result edge touches it. */
+    public int indexOf(String id) {
+        Integer index = vertexIndex.get(id);
+        return index == null ? -1 : index;
+    }
+
+    public String getVertexId(int v) {
+        return vertexIds[v];
+    }
+
+    public boolean connected(int u, int v) {
+        return component[u] == component[v];
+    }
+
+    // --- Single queries ---
+
+    /**
+     * Largest edge weight on the tree path between two vertices:
+     * {@link Double#POSITIVE_INFINITY} if they lie in different trees,
+     * {@link Double#NEGATIVE_INFINITY} for the empty path of u == v.
+     */
+    public double bottleneck(int u, int v) {
+        if (component[u] != component[v]) return Double.POSITIVE_INFINITY;
+        int n = vertexIds.length;
+        double max = Double.NEGATIVE_INFINITY;
+
+        if (depth[u] < depth[v]) {
+            int t = u;
+            u = v;
+            v = t;
+        }
+        for (int diff = depth[u] - depth[v], k = 0; diff != 0; diff >>>= 1, k++) {
+            if ((diff & 1) != 0) {
+                max = Math.max(max, maxUp[k * n + u]);
+                u = up[k * n + u];
+            }
+        }
+        if (u == v) return max;
+
+        for (int k = levels - 1; k >= 0; k--) {
+            int a = up[k * n + u];
+            int b = up[k * n + v];
+            if (a != b) {
+                max = Math.max(max, Math.max(maxUp[k * n + u], maxUp[k * n + v]));
+                u = a;
+                v = b;
+            }
+        }
+        return Math.max(max, Math.max(maxUp[u], maxUp[v]));
+    }
+
+    /** {@link #bottleneck(int, int)} by vertex name. */
+    public double bottleneck(String a, String b) {
+        return bottleneck(require(a), require(b));
+    }
+
+    /** Lowest common ancestor in the rooted forest, or -1 if u and v lie in different trees. */
+    public int lowestCommonAncestor(int u, int v) {
+        if (component[u] != component[v]) return -1;
+        int n = vertexIds.length;
+        if (depth[u] < depth[v]) {
+            int t = u;
+            u = v;
+            v = t;
+        }
+        for (int diff = depth[u] - depth[v], k = 0; diff != 0; diff >>>= 1, k++) {
+            if ((diff & 1) != 0) u = up[k * n + u];
+        }
+        if (u == v) return u;
+        for (int k = levels - 1; k >= 0; k--) {
+            if (up[k * n + u] != up[k * n + v]) {
+                u = up[k * n + u];
+                v = up[k * n + v];
+            }
+        }
+        return up[u];
+    }
+
+    /**
+     * Tree edges on the path from a to b, in walking order; empty for a == b,
+     * null if the vertices lie in different trees. Costs O(path length).
+     */
+    public List<Edge> path(String a, String b) {
+        int u = require(a);
+        int v = require(b);
+        int lca = lowestCommonAncestor(u, v);
+        if (lca < 0) return null;
+
+        List<Edge> path = new ArrayList<>(depth[u] + depth[v] - 2 * depth[lca]);
+        for (int x = u; x != lca; x = up[x]) path.add(treeEdges.get(parentEdge[x]));
+        int split = path.size();
+        for (int x = v; x != lca; x = up[x]) path.add(treeEdges.get(parentEdge[x]));
+        Collections.reverse(path.subList(split, path.size()));
+        return path;
+    }
+
+    // --- Batch queries ---
+
+    /** Bottleneck weight of every pair (from[i], to[i]), in order. */
+    public double[] bottleneck(int[] from, int[] to) {
+        checkBatch(from, to);
+        double[] out = new double[from.length];
+        for (int i = 0; i < from.length; i++) out[i] = bottleneck(from[i], to[i]);
+        return out;
+    }
+
+    /** Parallel {@link #bottleneck(int[], int[])}; the index is read-only, so chunks need no coordination. */
+    public double[] bottleneck(int[] from, int[] to, ForkJoinPool pool) {
+        checkBatch(from, to);
+        double[] out = new double[from.length];
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * 4, from.length / BATCH_CHUNK));
+        ParallelChunks.run(pool, 0, from.length, chunks, (chunk, lo, hi) -> {
+            for (int i = lo; i < hi; i++) out[i] = bottleneck(from[i], to[i]);
+            return hi - lo;
+        });
+        return out;
+    }
+
+    private static void checkBatch(int[] from, int[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Batch endpoint arrays differ in length: "
+                    + from.length + " vs " + to.length);
+        }
+    }
+
+    private int require(String id) {
+        int v = indexOf(id);
+        if (v < 0) throw new IllegalArgumentException("Vertex " + id + " is not in the indexed tree");
+        return v;
+    }
+}
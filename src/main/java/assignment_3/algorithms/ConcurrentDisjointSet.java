@@ -0,0 +1,67 @@
+package assignment_3.algorithms;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint-set over int elements 0..n-1 for use from many threads.
+ *
+ * Roots are linked by CAS, always from the lower to the higher priority
+ * root. Priorities are a fixed pseudo-random permutation of the ids, which
+ * keeps trees shallow in expectation without a separate rank array. Finds
+ * halve paths with CAS, so concurrent readers only ever shortcut to
+ * ancestors.
+ */
+public final class ConcurrentDisjointSet {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentDisjointSet(int n) {
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) parent.set(i, i);
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (p != gp) parent.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    public boolean connected(int a, int b) {
+        while (true) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) return true;
+            // ra may have been linked meanwhile; only a still-root ra proves disjointness
+            if (parent.get(ra) == ra) return false;
+        }
+    }
+
+    /** Merges the sets of a and b. Returns false if they were already in the same set. */
+    public boolean union(int a, int b) {
+        while (true) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) return false;
+            if (priority(ra) > priority(rb)) {
+                int t = ra;
+                ra = rb;
+                rb = t;
+            }
+            if (parent.compareAndSet(ra, ra, rb)) return true;
+        }
+    }
+
+    /** Total order on ids: mixed hash, ties broken by id. */
+    private static long priority(int x) {
+        int h = x * 0x9E3779B9;
+        h ^= h >>> 16;
+        return ((long) h << 32) | (x & 0xFFFFFFFFL);
+    }
+}
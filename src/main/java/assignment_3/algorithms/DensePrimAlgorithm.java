@@ -0,0 +1,102 @@
+package assignment_3.algorithms;
+
+import assignment_3.metrics.MSTMetrics;
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import assignment_3.model.Graph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Heap-free Prim's algorithm for (near-)complete graphs, O(V^2 + E).
+ *
+ * Every vertex outside the tree keeps the weight of its cheapest connection
+ * in a flat array; each step picks the minimum by a linear scan and relaxes
+ * the new vertex's adjacency. When E approaches V^2 this beats any heap,
+ * since a scan of contiguous doubles is cheaper than E decrease-keys.
+ *
+ * Disconnected inputs yield a minimum spanning forest: when no outside
+ * vertex is reachable, the scan restarts the tree at the next one.
+ */
+public class DensePrimAlgorithm implements MSTAlgorithm {
+
+    @Override
+    public String getName() {
+        return "DensePrim";
+    }
+
+    /** Runs on the frozen form of the graph; result edges are the graph's own Edge objects. */
+    @Override
+    public AlgorithmResult run(Graph graph) {
+        long start = System.nanoTime(); // freezing the graph is part of the run
+        List<Edge> edges = graph.getEdges();
+        return solve(graph.toCompactGraph(), edges::get, start);
+    }
+
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        return solve(graph, graph::toEdge, System.nanoTime());
+    }
+
+    private AlgorithmResult solve(CompactGraph graph, IntFunction<Edge> edgeOf, long start) {
+        long operations = 0;
+        MSTMetrics metrics = MSTMetrics.create();
+        PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.MAIN_LOOP);
+
+        int n = graph.getVertexCount();
+        double[] best = new double[n];     // cheapest known connection to the tree
+        int[] bestEdge = new int[n];       // edge index of that connection, -1 if none
+        int[] outside = new int[n];        // vertices not yet in the tree, swap-removed
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        Arrays.fill(bestEdge, -1);
+        for (int v = 0; v < n; v++) outside[v] = v;
+        int remaining = n;
+
+        List<Edge> mstEdges = new ArrayList<>(Math.max(0, n - 1));
+        double totalCost = 0.0;
+
+        while (remaining > 0) {
+            // --- Linear scan for the cheapest outside vertex ---
+            int pick = 0;
+            double pickWeight = best[outside[0]];
+            for (int i = 1; i < remaining; i++) {
+                double w = best[outside[i]];
+                if (MSTMetrics.ENABLED) metrics.comparison();
+                if (w < pickWeight) {
+                    pick = i;
+                    pickWeight = w;
+                }
+            }
+            operations += remaining;
+
+            int u = outside[pick];
+            outside[pick] = outside[--remaining];
+            best[u] = Double.NEGATIVE_INFINITY; // marks u as in the tree
+            if (bestEdge[u] >= 0) {            // otherwise u roots a new tree
+                mstEdges.add(edgeOf.apply(bestEdge[u]));
+                totalCost += graph.getEdgeWeight(bestEdge[u]);
+            }
+
+            // --- Relax u's adjacency ---
+            for (int s = graph.adjacencyStart(u); s < graph.adjacencyEnd(u); s++) {
+                int v = graph.getTarget(s);
+                double w = graph.getWeight(s);
+                operations++;
+                if (MSTMetrics.ENABLED) metrics.comparison();
+                if (w < best[v]) { // tree vertices hold -inf and never match
+                    best[v] = w;
+                    bestEdge[v] = graph.getEdgeId(s);
+                    if (MSTMetrics.ENABLED) metrics.decreaseKey();
+                }
+            }
+        }
+
+        phase.finish(n, graph.getEdgeCount());
+        long time = (System.nanoTime() - start) / 1_000_000;
+        return new AlgorithmResult(totalCost, time, operations,
+                n, graph.getEdgeCount(), mstEdges).withMetrics(metrics);
+    }
+}
@@ -0,0 +1,80 @@
+package assignment_3.algorithms;
+
+import assignment_3.metrics.MSTMetrics;
+
+/**
+ * Array-based disjoint-set (union-find) over int elements 0..n-1.
+ *
+ * Uses union by rank and iterative path halving, so find/union run in
+ * near-constant amortized time without recursion or boxing.
+ */
+public final class DisjointSet {
+    private final int[] parent;
+    private final byte[] rank; // rank never exceeds log2(n) < 32
+    private int components;
+    private MSTMetrics metrics;
+
+    public DisjointSet(int n) {
+        parent = new int[n];
+        rank = new byte[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+        components = n;
+    }
+
+    /** Counts finds, unions and path-halving steps into the given metrics (if enabled). */
+    public void setMetrics(MSTMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public int size() {
+        return parent.length;
+    }
+
+    /** Number of disjoint sets currently tracked. */
+    public int componentCount() {
+        return components;
+    }
+
+    /** Returns the representative of x, halving the path on the way up. */
+    public int find(int x) {
+        if (MSTMetrics.ENABLED && metrics != null) metrics.find();
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+            if (MSTMetrics.ENABLED && metrics != null) metrics.compressionStep();
+        }
+        return x;
+    }
+
+    /**
+     * Read-only find without path shortening. Safe to call from several
+     * threads at once as long as no thread is merging at the same time.
+     */
+    public int root(int x) {
+        while (parent[x] != x) x = parent[x];
+        return x;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /** Merges the sets of a and b. Returns false if they were already in the same set. */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return false;
+
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        components--;
+        if (MSTMetrics.ENABLED && metrics != null) metrics.union();
+        return true;
+    }
+}
@@ -0,0 +1,186 @@
+package assignment_3.algorithms;
+
+import assignment_3.model.Edge;
+import assignment_3.model.Vertex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimum spanning forest maintained under edge insertions and weight
+ * decreases, without recomputation.
+ *
+ * The forest is stored in a {@link LinkCutTree} in which every tree edge is
+ * a node of its own (carrying the weight) between its two vertex nodes, so a
+ * path-max query finds the heaviest edge on the cycle a new edge would close.
+ * By the cycle property an inserted edge u - v with weight w:
+ *  a) links two trees if u and v are not connected yet, or
+ *  b) replaces the heaviest edge on the u .. v path if that edge is heavier, or
+ *  c) is discarded otherwise, since it can never enter the MST again.
+ * Each update costs amortized O(log V). Only tree edges are kept, so memory
+ * stays O(V) however many edges are inserted.
+ *
+ * Decreasing the weight of a tree edge keeps the tree minimal; decreasing a
+ * non-tree edge is the same as inserting it with the new weight.
+ */
+public class DynamicMST {
+
+    private final LinkCutTree tree;
+    private final Map<String, Integer> vertexIndex = new HashMap<>();
+    private final List<String> vertexIds = new ArrayList<>();
+    private int[] vertexNode = new int[16];   // vertex id -> tree node
+
+    // --- Tree edges: endpoints indexed by tree node, -1 for non-edge nodes ---
+    private final Map<Long, Integer> edgeNodeByPair = new HashMap<>();
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private int treeEdges;
+    private double totalCost;
+
+    public DynamicMST() {
+        this(16);
+    }
+
+    public DynamicMST(int expectedVertices) {
+        tree = new LinkCutTree(2 * expectedVertices);
+    }
+
+    /** Starts from a computed MST (or forest); its edges are linked as they are. */
+    public static DynamicMST from(AlgorithmResult result) {
+        DynamicMST mst = new DynamicMST(result.getVertexCount());
+        for (Edge e : result.getEdges()) {
+            mst.addEdge(e.getFrom().getId(), e.getTo().getId(), e.getWeight());
+        }
+        return mst;
+    }
+
+    /** Adds an isolated vertex (a no-op if it exists) and returns its id. */
+    public int addVertex(String id) {
+        Integer existing = vertexIndex.get(id);
+        if (existing != null) return existing;
+
+        int v = vertexIds.size();
+        if (v == vertexNode.length) vertexNode = Arrays.copyOf(vertexNode, v * 2);
+        vertexNode[v] = tree.newNode(Double.NEGATIVE_INFINITY); // never the path maximum
+        vertexIds.add(id);
+        vertexIndex.put(id, v);
+        return v;
+    }
+
+    /**
+     * Inserts an edge, creating missing endpoints.
+     *
+     * @return true if the edge entered the spanning forest
+     */
+    public boolean addEdge(String fromId, String toId, double weight) {
+        int u = addVertex(fromId);
+        int v = addVertex(toId);
+        if (u == v) return false;
+
+        int nu = vertexNode[u];
+        int nv = vertexNode[v];
+        if (!tree.connected(nu, nv)) {
+            link(u, v, weight);
+            return true;
+        }
+
+        int heaviest = tree.pathMax(nu, nv);
+        if (tree.valueOf(heaviest) <= weight) return false;
+
+        unlink(heaviest);
+        link(u, v, weight);
+        return true;
+    }
+
+    /**
+     * Lowers the weight of edge from - to. A tree edge is updated in place;
+     * otherwise the edge is offered to the forest with its new weight.
+     *
+     * @return true if the forest changed
+     * @throws IllegalArgumentException if the new weight is higher than the tree edge's current one
+     */
+    public boolean decreaseWeight(String fromId, String toId, double newWeight) {
+        Integer u = vertexIndex.get(fromId);
+        Integer v = vertexIndex.get(toId);
+        Integer node = (u == null || v == null) ? null : edgeNodeByPair.get(pairKey(u, v));
+        if (node == null) return addEdge(fromId, toId, newWeight);
+
+        double old = tree.valueOf(node);
+        if (newWeight > old) {
+            throw new IllegalArgumentException("Weight of " + fromId + " -- " + toId
+                    + " can only decrease: " + old + " -> " + newWeight);
+        }
+        tree.setValue(node, newWeight);
+        totalCost += newWeight - old;
+        return newWeight < old;
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public int getVertexCount() {
+        return vertexIds.size();
+    }
+
+    /** Number of edges in the forest (V-1 once everything is connected). */
+    public int getTreeEdgeCount() {
+        return treeEdges;
+    }
+
+    public boolean connected(String a, String b) {
+        Integer u = vertexIndex.get(a);
+        Integer v = vertexIndex.get(b);
+        return u != null && v != null && tree.connected(vertexNode[u], vertexNode[v]);
+    }
+
+    /** Snapshot of the current forest edges. */
+    public List<Edge> getTreeEdges() {
+        List<Edge> edges = new ArrayList<>(treeEdges);
+        for (int node : edgeNodeByPair.values()) {
+            edges.add(new Edge(new Vertex(vertexIds.get(edgeFrom[node])), new Vertex(vertexIds.get(edgeTo[node])),
+                    tree.valueOf(node)));
+        }
+        return edges;
+    }
+
+    private void link(int u, int v, double weight) {
+        int node = tree.newNode(weight);
+        tree.link(vertexNode[u], node);
+        tree.link(node, vertexNode[v]);
+        edgeNodeByPair.put(pairKey(u, v), node);
+        setEndpoints(node, u, v);
+        treeEdges++;
+        totalCost += weight;
+    }
+
+    private void unlink(int node) {
+        int u = edgeFrom[node];
+        int v = edgeTo[node];
+        edgeNodeByPair.remove(pairKey(u, v));
+        tree.cut(vertexNode[u], node);
+        tree.cut(node, vertexNode[v]);
+        setEndpoints(node, -1, -1);
+        treeEdges--;
+        totalCost -= tree.valueOf(node);
+        tree.free(node);
+    }
+
+    private void setEndpoints(int node, int u, int v) {
+        if (node >= edgeFrom.length) {
+            int capacity = Math.max(node + 1, edgeFrom.length * 2);
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+        }
+        edgeFrom[node] = u;
+        edgeTo[node] = v;
+    }
+
+    private static long pairKey(int u, int v) {
+        int a = Math.min(u, v);
+        int b = Math.max(u, v);
+        return ((long) a << 32) | b;
+    }
+}
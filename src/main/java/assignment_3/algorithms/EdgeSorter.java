@@ -0,0 +1,158 @@
+package assignment_3.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Sorts edge indices by weight over a packed primitive representation.
+ *
+ * Each edge becomes one long: a weight key in the high bits and the edge
+ * index in the low bits, so sorting the longs sorts the edges with ties
+ * broken by index. Integral weights (all bundled inputs) go through an LSD
+ * radix sort over only the key bits actually in use; anything else is
+ * sorted with {@link Arrays#parallelSort} on order-preserving double bits.
+ */
+final class EdgeSorter {
+
+    /** Below this size the constant factors of radix/parallel sort do not pay off. */
+    private static final int SMALL_INPUT = 1 << 10;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private EdgeSorter() {
+    }
+
+    /** Returns edge indices 0..weights.length-1 ordered by ascending weight, ties by index. */
+    static int[] sortByWeight(double[] weights) {
+        int m = weights.length;
+        int[] order = new int[m];
+        if (m == 0) return order;
+
+        int indexBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(m - 1));
+        long indexMask = (1L << indexBits) - 1;
+
+        long[] packed = packIntegral(weights, indexBits);
+        if (packed == null) {
+            packed = packFloating(weights, indexBits);
+            if (m < SMALL_INPUT) Arrays.sort(packed);
+            else Arrays.parallelSort(packed);
+            refineTruncatedRuns(packed, weights, indexBits);
+        }
+
+        for (int i = 0; i < m; i++) {
+            order[i] = (int) (packed[i] & indexMask);
+        }
+        return order;
+    }
+
+    // --- Integral weights: offset keys, radix sorted ---
+
+    /** Packs (weight - min, index) and radix sorts it, or returns null if weights are not integral. */
+    private static long[] packIntegral(double[] weights, int indexBits) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double w : weights) {
+            if (w != Math.rint(w) || Math.abs(w) > (1L << 52)) return null;
+            if (w < min) min = w;
+            if (w > max) max = w;
+        }
+        long range = (long) max - (long) min;
+        int keyBits = 64 - Long.numberOfLeadingZeros(range);
+        if (keyBits + indexBits > 63) return null;
+
+        long base = (long) min;
+        long[] packed = new long[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            packed[i] = (((long) weights[i] - base) << indexBits) | i;
+        }
+
+        if (weights.length < SMALL_INPUT) {
+            Arrays.sort(packed);
+        } else {
+            radixSort(packed, indexBits, indexBits + keyBits);
+        }
+        return packed;
+    }
+
+    /**
+     * Stable LSD radix sort on bits [fromBit, toBit). Lower bits hold the
+     * index, which is already ascending, so they never need a pass.
+     */
+    private static void radixSort(long[] a, int fromBit, int toBit) {
+        long[] buffer = new long[a.length];
+        int[] count = new int[RADIX + 1];
+        long[] src = a;
+        long[] dst = buffer;
+
+        for (int shift = fromBit; shift < toBit; shift += RADIX_BITS) {
+            Arrays.fill(count, 0);
+            for (long x : src) {
+                count[(int) ((x >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            for (int d = 0; d < RADIX; d++) {
+                count[d + 1] += count[d];
+            }
+            for (long x : src) {
+                dst[count[(int) ((x >>> shift) & (RADIX - 1))]++] = x;
+            }
+            long[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, a.length);
+        }
+    }
+
+    // --- Arbitrary weights: truncated order-preserving bits, parallel sorted ---
+
+    private static long[] packFloating(double[] weights, int indexBits) {
+        long[] packed = new long[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            packed[i] = ((sortableBits(weights[i]) >> indexBits) << indexBits) | i;
+        }
+        return packed;
+    }
+
+    /** Maps a double to a long whose signed order matches the numeric order. */
+    private static long sortableBits(double w) {
+        if (Double.isNaN(w)) throw new IllegalArgumentException("Edge weight is NaN");
+        long bits = Double.doubleToLongBits(w + 0.0); // folds -0.0 into 0.0
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * The low index bits displaced the lowest bits of each key, so weights
+     * that differ only there share a truncated key. Re-sorts every such run
+     * by exact weight (then index). Runs are almost always length one.
+     */
+    private static void refineTruncatedRuns(long[] packed, double[] weights, int indexBits) {
+        long indexMask = (1L << indexBits) - 1;
+        int i = 0;
+        while (i < packed.length) {
+            long key = packed[i] >> indexBits;
+            int j = i + 1;
+            while (j < packed.length && (packed[j] >> indexBits) == key) j++;
+            if (j - i > 1) {
+                insertionSortByWeight(packed, i, j, weights, indexMask);
+            }
+            i = j;
+        }
+    }
+
+    private static void insertionSortByWeight(long[] packed, int from, int to,
+                                              double[] weights, long indexMask) {
+        for (int i = from + 1; i < to; i++) {
+            long x = packed[i];
+            double w = weights[(int) (x & indexMask)];
+            int j = i - 1;
+            while (j >= from) {
+                long y = packed[j];
+                double wy = weights[(int) (y & indexMask)];
+                if (wy < w || (wy == w && (y & indexMask) < (x & indexMask))) break;
+                packed[j + 1] = y;
+                j--;
+            }
+            packed[j + 1] = x;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package assignment_3.algorithms;
+
+import assignment_3.io.MappedGraphFile;
+import assignment_3.io.MappedGraphFile.MappedGraph;
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import assignment_3.model.EdgeList;
+import assignment_3.model.Graph;
+import assignment_3.model.Vertex;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Out-of-core Kruskal for edge lists that do not fit in the heap.
+ *
+ * Edges are read sequentially (typically from a memory-mapped
+ * {@link MappedGraphFile}, whose pages the OS can drop again) in runs of at
+ * most runEdges, each run sorted with {@link EdgeSorter} and spilled to a temp
+ * file as (from, to, weight) records. The runs are then k-way merged through
+ * an {@link IndexedDaryHeap} straight into the union-find loop, which stops
+ * reading as soon as V-1 edges are accepted. With more than fanIn runs,
+ * groups of runs are merged into longer runs first.
+ *
+ * Heap use is O(V) for the disjoint set and result plus O(runEdges) while a
+ * run is sorted and O(fanIn) read buffers while merging. Equal weights from
+ * different runs may be merged in any order, so with ties the tree can differ
+ * from in-memory Kruskal's, but never its total cost.
+ *
+ * Run positions and record counts are kept in longs, so only the int edge
+ * indices of the {@link EdgeList} source bound the input size.
+ */
+public class ExternalKruskalAlgorithm implements MSTAlgorithm {
+
+    public static final int DEFAULT_RUN_EDGES = 1 << 22;
+    public static final int DEFAULT_FAN_IN = 256;
+
+    private static final int RECORD_BYTES = 16;
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final Path tempDirectory;
+    private final int runEdges;
+    private final int fanIn;
+
+    public ExternalKruskalAlgorithm() {
+        this(null, DEFAULT_RUN_EDGES, DEFAULT_FAN_IN);
+    }
+
+    /**
+     * @param tempDirectory where runs are spilled; null for the system temp directory
+     * @param runEdges      edges sorted in memory at a time
+     * @param fanIn         runs merged at once
+     */
+    public ExternalKruskalAlgorithm(Path tempDirectory, int runEdges, int fanIn) {
+        if (runEdges < 1 || fanIn < 2) throw new IllegalArgumentException("Need runEdges >= 1 and fanIn >= 2");
+        this.tempDirectory = tempDirectory;
+        this.runEdges = runEdges;
+        this.fanIn = fanIn;
+    }
+
+    @Override
+    public String getName() {
+        return "ExternalKruskal";
+    }
+
+    @Override
+    public AlgorithmResult run(Graph graph) {
+        long start = System.nanoTime(); // freezing the graph is part of the run
+        return run(graph.toCompactGraph(), start);
+    }
+
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        return run((EdgeList) graph);
+    }
+
+    public AlgorithmResult run(EdgeList edges) {
+        return run(edges, System.nanoTime());
+    }
+
+    private AlgorithmResult run(EdgeList edges, long start) {
+        try {
+            return solve(edges, start);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("External Kruskal failed", ex);
+        }
+    }
+
+    private AlgorithmResult solve(EdgeList graph, long start) throws IOException {
+        long operations = 0;
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+
+        Path dir = tempDirectory == null
+                ? Files.createTempDirectory("mst-runs")
+                : Files.createTempDirectory(tempDirectory, "mst-runs");
+        Throwable failure = null;
+        try {
+            // --- Phase 1: sorted runs ---
+            PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.SORT);
+            List<Path> runs = new ArrayList<>();
+            for (long from = 0; from < m; from += runEdges) {
+                long to = Math.min(m, from + runEdges);
+                runs.add(writeRun(graph, (int) from, (int) to, dir, runs.size()));
+                operations += to - from;
+            }
+            while (runs.size() > fanIn) {
+                runs = mergePass(runs, dir, m);
+            }
+            phase.finish(n, m);
+
+            // --- Phase 2: merge into the union-find loop ---
+            phase = PhaseEvent.begin(getName(), PhaseEvent.MAIN_LOOP);
+            DisjointSet uf = new DisjointSet(n);
+            List<Edge> mstEdges = new ArrayList<>(Math.max(0, n - 1));
+            double totalCost = 0.0;
+            try (Merger merger = new Merger(runs)) {
+                while (mstEdges.size() < n - 1 && merger.next()) {
+                    operations++;
+                    if (uf.union(merger.from, merger.to)) {
+                        mstEdges.add(new Edge(new Vertex(graph.getVertexId(merger.from)),
+                                new Vertex(graph.getVertexId(merger.to)), merger.weight));
+                        totalCost += merger.weight;
+                    }
+                }
+            }
+            phase.finish(n, m);
+
+            long time = (System.nanoTime() - start) / 1_000_000;
+            return new AlgorithmResult(totalCost, time, operations, n, m, mstEdges);
+        } catch (IOException | RuntimeException | Error ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            deleteRuns(dir, failure);
+        }
+    }
+
+    /** Sorts edges [from, to) in memory and spills them as one run. */
+    private Path writeRun(EdgeList graph, int from, int to, Path dir, int index) throws IOException {
+        double[] weights = new double[to - from];
+        for (int e = from; e < to; e++) weights[e - from] = graph.getEdgeWeight(e);
+        int[] order = EdgeSorter.sortByWeight(weights);
+
+        Path file = dir.resolve("run-" + index + ".bin");
+        try (RunWriter writer = new RunWriter(file)) {
+            for (int i : order) {
+                int e = from + i;
+                writer.write(graph.getEdgeFrom(e), graph.getEdgeTo(e), weights[i]);
+            }
+        }
+        return file;
+    }
+
+    /** Merges consecutive groups of fanIn runs into single runs, keeping run order. */
+    private List<Path> mergePass(List<Path> runs, Path dir, long edges) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        long spilled = 0;
+        for (int g = 0; g < runs.size(); g += fanIn) {
+            Path file = Files.createTempFile(dir, "merged-", ".bin");
+            spilled += mergeRuns(runs.subList(g, Math.min(runs.size(), g + fanIn)), file);
+            merged.add(file);
+        }
+        if (spilled != edges) throw new IOException("Merge pass wrote " + spilled + " of " + edges + " edges");
+        return merged;
+    }
+
+    /** Merges a group of runs into one longer run and deletes them; returns the records written. */
+    private static long mergeRuns(List<Path> group, Path file) throws IOException {
+        long records = 0;
+        try (Merger merger = new Merger(group); RunWriter writer = new RunWriter(file)) {
+            while (merger.next()) {
+                writer.write(merger.from, merger.to, merger.weight);
+                records++;
+            }
+        }
+        for (Path p : group) Files.delete(p);
+        return records;
+    }
+
+    /**
+     * Deletes the spill directory, trying every file. When the run itself
+     * failed, cleanup errors are attached to that failure instead of
+     * replacing it.
+     */
+    private static void deleteRuns(Path dir, Throwable failure) throws IOException {
+        IOException error = null;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ex) {
+                    error = chain(error, ex);
+                }
+            }
+        } catch (IOException ex) {
+            error = chain(error, ex);
+        } catch (UncheckedIOException ex) {
+            error = chain(error, ex.getCause());
+        }
+        try {
+            Files.deleteIfExists(dir);
+        } catch (IOException ex) {
+            error = chain(error, ex);
+        }
+        if (error == null) return;
+        if (failure != null) failure.addSuppressed(error);
+        else throw error;
+    }
+
+    private static IOException chain(IOException first, IOException next) {
+        if (first == null) return next;
+        first.addSuppressed(next);
+        return first;
+    }
+
+    // --- Run files: little-endian (int from, int to, double weight) records ---
+
+    private static final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        RunWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(int from, int to, double weight) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.putInt(from).putInt(to).putDouble(weight);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (FileChannel c = channel) {
+                flush();
+            }
+        }
+    }
+
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        int from;
+        int to;
+        double weight;
+
+        RunReader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer.limit(0);
+        }
+
+        /** Loads the next record into from/to/weight; false at the end of the run. */
+        boolean advance() throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                buffer.compact();
+                while (buffer.position() < RECORD_BYTES && channel.read(buffer) > 0) {
+                    // keep reading until at least one record is buffered
+                }
+                buffer.flip();
+                if (buffer.remaining() < RECORD_BYTES) return false;
+            }
+            from = buffer.getInt();
+            to = buffer.getInt();
+            weight = buffer.getDouble();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** K-way merge of sorted runs. */
+    private static final class Merger implements AutoCloseable {
+        private final RunReader[] readers;
+        private final IndexedDaryHeap heap;
+        int from;
+        int to;
+        double weight;
+
+        Merger(List<Path> runs) throws IOException {
+            readers = new RunReader[runs.size()];
+            heap = new IndexedDaryHeap(runs.size());
+            try {
+                for (int r = 0; r < readers.length; r++) {
+                    readers[r] = new RunReader(runs.get(r));
+                    if (readers[r].advance()) heap.insert(r, readers[r].weight);
+                }
+            } catch (IOException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        boolean next() throws IOException {
+            if (heap.isEmpty()) return false;
+            int r = heap.pollMin();
+            RunReader reader = readers[r];
+            from = reader.from;
+            to = reader.to;
+            weight = reader.weight;
+            if (reader.advance()) heap.insert(r, reader.weight);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+    }
+
+    /**
+     * Usage: ExternalKruskalAlgorithm graphs.mstg [runEdges] [tempDir]
+     * Prints the MST cost of every graph in a binary graph file.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ExternalKruskalAlgorithm graphs.mstg [runEdges] [tempDir]");
+            System.exit(2);
+        }
+        int runEdges = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RUN_EDGES;
+        Path temp = args.length > 2 ? Paths.get(args[2]) : null;
+        ExternalKruskalAlgorithm kruskal = new ExternalKruskalAlgorithm(temp, runEdges, DEFAULT_FAN_IN);
+        try (MappedGraphFile file = MappedGraphFile.open(Paths.get(args[0]))) {
+            for (MappedGraph g : file.getGraphs()) {
+                AlgorithmResult r = kruskal.run(g);
+                System.out.printf("%s: V=%d E=%d cost=%.4f edges=%d time=%d ms%n", g.getName(),
+                        r.getVertexCount(), r.getEdgeCount(), r.getTotalCost(), r.getEdges().size(),
+                        r.getExecutionTimeMs());
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package assignment_3.algorithms;
+
+import assignment_3.metrics.MSTMetrics;
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import assignment_3.model.Graph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+/**
+ * Filter-Kruskal: Kruskal without sorting the whole edge list.
+ *
+ * Edges are quicksort-partitioned around a sampled pivot weight. The light
+ * half is solved recursively first; then every heavy edge whose endpoints
+ * are already connected is filtered out before the heavy half is recursed
+ * into. Small ranges fall back to sort-then-union. On dense graphs most
+ * heavy edges are filtered without ever being sorted, and the algorithm
+ * stops as soon as V-1 edges are accepted.
+ *
+ * Partitioning and filtering of large ranges run as parallel chunks on a
+ * {@link ForkJoinPool}. The heavy half cannot be filtered before the light
+ * half has been merged, so the recursion itself stays sequential.
+ * {@link MSTMetrics} count only the sequential finds and unions; the
+ * parallel passes use the read-only {@link DisjointSet#root} and are not
+ * counted.
+ */
+public class FilterKruskalAlgorithm implements MSTAlgorithm {
+
+    public static final int DEFAULT_BASE_CASE = 1 << 12;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int baseCase;
+    private final int parallelThreshold;
+
+    public FilterKruskalAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public FilterKruskalAlgorithm(ForkJoinPool pool) {
+        this(pool, DEFAULT_BASE_CASE, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param baseCase          ranges up to this size (or V, if larger) are sorted directly
+     * @param parallelThreshold ranges at least this large are partitioned/filtered in parallel
+     */
+    public FilterKruskalAlgorithm(ForkJoinPool pool, int baseCase, int parallelThreshold) {
+        this.pool = pool;
+        this.baseCase = baseCase;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public String getName() {
+        return "FilterKruskal";
+    }
+
+    /** Runs on the frozen form of the graph; result edges are the graph's own Edge objects. */
+    @Override
+    public AlgorithmResult run(Graph graph) {
+        long start = System.nanoTime(); // freezing the graph is part of the run
+        List<Edge> edges = graph.getEdges();
+        return solve(graph.toCompactGraph(), edges::get, start);
+    }
+
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        return solve(graph, graph::toEdge, System.nanoTime());
+    }
+
+    private AlgorithmResult solve(CompactGraph graph, IntFunction<Edge> edgeOf, long start) {
+
+        MSTMetrics metrics = MSTMetrics.create();
+        PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.MAIN_LOOP);
+        Run run = new Run(graph);
+        // Only the sequential finds and unions are counted; parallel filtering uses root()
+        if (MSTMetrics.ENABLED) run.uf.setMetrics(metrics);
+        run.recurse(0, graph.getEdgeCount());
+        phase.finish(graph.getVertexCount(), graph.getEdgeCount());
+
+        List<Edge> mstEdges = new ArrayList<>(run.treeSize);
+        double totalCost = 0.0;
+        for (int i = 0; i < run.treeSize; i++) {
+            int e = run.tree[i];
+            mstEdges.add(edgeOf.apply(e));
+            totalCost += run.weights[e];
+        }
+
+        long time = (System.nanoTime() - start) / 1_000_000;
+        return new AlgorithmResult(totalCost, time, run.operations,
+                graph.getVertexCount(), graph.getEdgeCount(), mstEdges).withMetrics(metrics);
+    }
+
+    /** Mutable state of one invocation. */
+    private final class Run {
+        private final CompactGraph graph;
+        private final double[] weights;
+        private final int[] edges;   // edge ids, permuted in place by partitioning
+        private int[] scratch;       // parallel partition buffer, allocated on first use
+        private final DisjointSet uf;
+        private final int[] tree;
+        private final int target;
+        private final int leafSize;
+        private int treeSize;
+        private long operations;
+
+        Run(CompactGraph graph) {
+            this.graph = graph;
+            int n = graph.getVertexCount();
+            int m = graph.getEdgeCount();
+            weights = new double[m];
+            edges = new int[m];
+            for (int e = 0; e < m; e++) {
+                weights[e] = graph.getEdgeWeight(e);
+                edges[e] = e;
+            }
+            uf = new DisjointSet(n);
+            tree = new int[Math.max(0, n - 1)];
+            target = Math.max(0, n - 1);
+            leafSize = Math.max(baseCase, n);
+        }
+
+        void recurse(int lo, int hi) {
+            if (treeSize == target || lo >= hi) return;
+            if (hi - lo <= leafSize) {
+                sortAndUnion(lo, hi);
+                return;
+            }
+
+            double pivot = samplePivot(lo, hi);
+            int mid = partition(lo, hi, pivot, false);
+            if (mid == lo) {
+                // Pivot is the minimum: split off the edges equal to it instead
+                mid = partition(lo, hi, pivot, true);
+                if (mid == hi) {
+                    sortAndUnion(lo, hi); // all weights equal
+                    return;
+                }
+            }
+
+            recurse(lo, mid);
+            if (treeSize == target) return;
+            int heavyEnd = mid + filter(mid, hi);
+            recurse(mid, heavyEnd);
+        }
+
+        private void sortAndUnion(int lo, int hi) {
+            double[] w = new double[hi - lo];
+            for (int i = lo; i < hi; i++) w[i - lo] = weights[edges[i]];
+            for (int i : EdgeSorter.sortByWeight(w)) {
+                int e = edges[lo + i];
+                operations++;
+                if (uf.union(graph.getEdgeFrom(e), graph.getEdgeTo(e))) {
+                    tree[treeSize++] = e;
+                    if (treeSize == target) return;
+                }
+            }
+        }
+
+        /** Median weight of nine evenly spaced samples. */
+        private double samplePivot(int lo, int hi) {
+            double[] sample = new double[9];
+            for (int k = 0; k < sample.length; k++) {
+                sample[k] = weights[edges[lo + (int) ((long) (hi - lo - 1) * k / (sample.length - 1))]];
+            }
+            Arrays.sort(sample);
+            return sample[sample.length / 2];
+        }
+
+        /**
+         * Moves light edges (w < pivot, or w <= pivot when inclusive) to the
+         * front of [lo, hi) and returns the index of the first heavy edge.
+         */
+        private int partition(int lo, int hi, double pivot, boolean inclusive) {
+            operations += hi - lo;
+            if (hi - lo < parallelThreshold) {
+                int i = lo;
+                int j = hi - 1;
+                while (true) {
+                    while (i <= j && isLight(edges[i], pivot, inclusive)) i++;
+                    while (i <= j && !isLight(edges[j], pivot, inclusive)) j--;
+                    if (i >= j) return i;
+                    int t = edges[i];
+                    edges[i++] = edges[j];
+                    edges[j--] = t;
+                }
+            }
+
+            // Parallel: count light edges per chunk, then scatter through prefix sums
+            if (scratch == null) scratch = new int[edges.length];
+            int chunks = chunkCount();
+            int[] light = ParallelChunks.run(pool, lo, hi - lo, chunks, (c, from, to) -> {
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    if (isLight(edges[i], pivot, inclusive)) count++;
+                }
+                return count;
+            });
+            int[] lightAt = new int[chunks];
+            int[] heavyAt = new int[chunks];
+            int totalLight = 0;
+            for (int c = 0; c < chunks; c++) {
+                lightAt[c] = lo + totalLight;
+                totalLight += light[c];
+            }
+            int heavy = lo + totalLight;
+            for (int c = 0; c < chunks; c++) {
+                heavyAt[c] = heavy;
+                heavy += ParallelChunks.chunkStart(hi - lo, chunks, c + 1)
+                        - ParallelChunks.chunkStart(hi - lo, chunks, c) - light[c];
+            }
+            ParallelChunks.run(pool, lo, hi - lo, chunks, (c, from, to) -> {
+                int l = lightAt[c];
+                int h = heavyAt[c];
+                for (int i = from; i < to; i++) {
+                    int e = edges[i];
+                    if (isLight(e, pivot, inclusive)) scratch[l++] = e;
+                    else scratch[h++] = e;
+                }
+                return 0;
+            });
+            System.arraycopy(scratch, lo, edges, lo, hi - lo);
+            return lo + totalLight;
+        }
+
+        private boolean isLight(int e, double pivot, boolean inclusive) {
+            double w = weights[e];
+            return inclusive ? w <= pivot : w < pivot;
+        }
+
+        /** Drops edges inside one component, compacting [lo, hi). Returns the survivor count. */
+        private int filter(int lo, int hi) {
+            operations += hi - lo;
+            if (hi - lo < parallelThreshold) {
+                int write = lo;
+                for (int i = lo; i < hi; i++) {
+                    int e = edges[i];
+                    if (uf.find(graph.getEdgeFrom(e)) != uf.find(graph.getEdgeTo(e))) edges[write++] = e;
+                }
+                return write - lo;
+            }
+
+            // No unions happen while filtering, so read-only finds can run concurrently
+            int[] kept = ParallelChunks.run(pool, lo, hi - lo, chunkCount(), (c, from, to) -> {
+                int write = from;
+                for (int i = from; i < to; i++) {
+                    int e = edges[i];
+                    if (uf.root(graph.getEdgeFrom(e)) != uf.root(graph.getEdgeTo(e))) edges[write++] = e;
+                }
+                return write - from;
+            });
+            return ParallelChunks.concatenate(edges, lo, hi - lo, kept);
+        }
+
+        private int chunkCount() {
+            return Math.max(1, pool.getParallelism() * 4);
+        }
+    }
+}
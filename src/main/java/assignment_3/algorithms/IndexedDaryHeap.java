@@ -0,0 +1,160 @@
+package assignment_3.algorithms;
+
+import assignment_3.metrics.MSTMetrics;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed min-heap of int keys 0..capacity-1 with double priorities.
+ *
+ * Each key is stored at most once, so the heap never exceeds capacity
+ * entries, and priorities can be lowered in place (decrease-key). A d-ary
+ * layout keeps the tree shallow, which favours the decrease-key heavy
+ * workload of Prim's algorithm. No objects are allocated after construction.
+ */
+public final class IndexedDaryHeap {
+    private final int arity;
+    private final int[] heap;        // position -> key
+    private final int[] position;    // key -> position, -1 when absent
+    private final double[] priority; // key -> priority
+    private int size;
+    private MSTMetrics metrics;
+
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, 4);
+    }
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.priority = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /** Counts pushes, pops, decrease-keys and priority comparisons into the given metrics (if enabled). */
+    public void setMetrics(MSTMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        return position[key] >= 0;
+    }
+
+    public double priorityOf(int key) {
+        return priority[key];
+    }
+
+    public void insert(int key, double p) {
+        if (contains(key)) throw new IllegalArgumentException("Key already in heap: " + key);
+        priority[key] = p;
+        heap[size] = key;
+        position[key] = size;
+        if (MSTMetrics.ENABLED && metrics != null) metrics.heapPush();
+        siftUp(size++);
+    }
+
+    /** Lowers the priority of a key already in the heap; larger values are ignored. */
+    public void decreaseKey(int key, double p) {
+        if (p >= priority[key]) return;
+        priority[key] = p;
+        if (MSTMetrics.ENABLED && metrics != null) metrics.decreaseKey();
+        siftUp(position[key]);
+    }
+
+    /** Inserts the key, or lowers its priority if present. Returns true if anything changed. */
+    public boolean insertOrDecrease(int key, double p) {
+        if (!contains(key)) {
+            insert(key, p);
+            return true;
+        }
+        if (p < priority[key]) {
+            decreaseKey(key, p);
+            return true;
+        }
+        return false;
+    }
+
+    public int peekMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        return heap[0];
+    }
+
+    /** Removes and returns the key with the smallest priority. */
+    public int pollMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        int min = heap[0];
+        position[min] = -1;
+        if (MSTMetrics.ENABLED && metrics != null) metrics.heapPop();
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    // --- Sifting (hole-based: moves the element once at the end) ---
+
+    private void siftUp(int i) {
+        int key = heap[i];
+        double p = priority[key];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            int parentKey = heap[parent];
+            if (MSTMetrics.ENABLED && metrics != null) metrics.comparison();
+            if (priority[parentKey] <= p) break;
+            heap[i] = parentKey;
+            position[parentKey] = i;
+            i = parent;
+        }
+        heap[i] = key;
+        position[key] = i;
+    }
+
+    private void siftDown(int i) {
+        int key = heap[i];
+        double p = priority[key];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+
+            int best = first;
+            double bestPriority = priority[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                double cp = priority[heap[c]];
+                if (MSTMetrics.ENABLED && metrics != null) metrics.comparison();
+                if (cp < bestPriority) {
+                    best = c;
+                    bestPriority = cp;
+                }
+            }
+            if (MSTMetrics.ENABLED && metrics != null) metrics.comparison();
+            if (bestPriority >= p) break;
+
+            int childKey = heap[best];
+            heap[i] = childKey;
+            position[childKey] = i;
+            i = best;
+        }
+        heap[i] = key;
+        position[key] = i;
+    }
+}
@@ -0,0 +1,105 @@
+package assignment_3.algorithms;
+
+import assignment_3.metrics.MSTMetrics;
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.AdjacencyList;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import assignment_3.model.Graph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Eager Prim's algorithm on an {@link IndexedDaryHeap}.
+ *
+ * Instead of queueing every candidate edge, each unvisited vertex sits in
+ * the heap at most once with the weight of its cheapest known connection,
+ * lowered in place when a lighter edge is found. The heap is therefore
+ * bounded by V and the main loop allocates nothing.
+ */
+public class IndexedPrimAlgorithm implements MSTAlgorithm {
+
+    private final int arity;
+
+    public IndexedPrimAlgorithm() {
+        this(4);
+    }
+
+    public IndexedPrimAlgorithm(int arity) {
+        this.arity = arity;
+    }
+
+    @Override
+    public String getName() {
+        return "IndexedPrim";
+    }
+
+    /** Runs on the frozen form of the graph; result edges are the graph's own Edge objects. */
+    @Override
+    public AlgorithmResult run(Graph graph) {
+        long start = System.nanoTime(); // freezing the graph is part of the run
+        List<Edge> edges = graph.getEdges();
+        return solve(graph.toCompactGraph(), edges::get, start);
+    }
+
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        return solve(graph, graph::toEdge, System.nanoTime());
+    }
+
+    /**
+     * Prim over any CSR adjacency, e.g. a frozen
+     * {@link assignment_3.model.OffHeapEdgeStore}; the main loop only reads
+     * primitives from it.
+     */
+    public AlgorithmResult run(AdjacencyList graph) {
+        return solve(graph, graph::toEdge, System.nanoTime());
+    }
+
+    private AlgorithmResult solve(AdjacencyList graph, IntFunction<Edge> edgeOf, long start) {
+        long operations = 0;
+
+        int n = graph.getVertexCount();
+        boolean[] visited = new boolean[n];
+        int[] bestEdge = new int[n]; // edge index connecting v to the tree
+        Arrays.fill(bestEdge, -1);
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, arity);
+        MSTMetrics metrics = MSTMetrics.create();
+        if (MSTMetrics.ENABLED) heap.setMetrics(metrics);
+        PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.MAIN_LOOP);
+        List<Edge> mstEdges = new ArrayList<>();
+        double totalCost = 0.0;
+
+        if (n > 0) {
+            // Start from the first interned vertex
+            heap.insert(0, 0.0);
+        }
+
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            operations++;
+            visited[u] = true;
+
+            if (bestEdge[u] >= 0) {
+                mstEdges.add(edgeOf.apply(bestEdge[u]));
+                totalCost += graph.getEdgeWeight(bestEdge[u]);
+            }
+
+            for (int s = graph.adjacencyStart(u); s < graph.adjacencyEnd(u); s++) {
+                int v = graph.getTarget(s);
+                if (visited[v]) continue;
+                operations++;
+                if (heap.insertOrDecrease(v, graph.getWeight(s))) {
+                    bestEdge[v] = graph.getEdgeId(s);
+                }
+            }
+        }
+
+        phase.finish(n, graph.getEdgeCount());
+        long time = (System.nanoTime() - start) / 1_000_000;
+        return new AlgorithmResult(totalCost, time, operations,
+                n, graph.getEdgeCount(), mstEdges).withMetrics(metrics);
+    }
+}
@@ -1,61 +1,78 @@
 package assignment_3.algorithms;
 
+import assignment_3.metrics.MSTMetrics;
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
 import assignment_3.model.Edge;
+import assignment_3.model.EdgeList;
 import assignment_3.model.Graph;
-import assignment_3.model.Vertex;
 import java.util.*;
+import java.util.function.IntFunction;
 
-public class KruskalAlgorithm {
+public class KruskalAlgorithm implements MSTAlgorithm {
 
+    @Override
+    public String getName() {
+        return "Kruskal";
+    }
+
+    /** Runs on the frozen form of the graph; result edges are the graph's own Edge objects. */
+    @Override
     public AlgorithmResult run(Graph graph) {
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime(); // freezing the graph is part of the run
+        List<Edge> edges = graph.getEdges();
+        return solve(graph.toCompactGraph(), edges::get, start);
+    }
+
+    /**
+     * Kruskal over a frozen CSR graph: sorts packed primitive edge keys
+     * (see {@link EdgeSorter}) and unions dense int ids.
+     */
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        return solve(graph, graph::toEdge, System.nanoTime());
+    }
+
+    /**
+     * Kruskal straight off any edge list, e.g. a memory-mapped binary graph.
+     * Edges are read in place; only the packed sort keys and the disjoint-set
+     * live on the heap.
+     */
+    public AlgorithmResult run(EdgeList edges) {
+        return solve(edges, edges::toEdge, System.nanoTime());
+    }
+
+    private AlgorithmResult solve(EdgeList graph, IntFunction<Edge> edgeOf, long start) {
         long operations = 0;
 
-        List<Edge> edges = new ArrayList<>(graph.getEdges());
-        edges.sort(Comparator.comparingDouble(Edge::getWeight));
-        operations += edges.size();
+        MSTMetrics metrics = MSTMetrics.create();
+
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.SORT);
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) weights[e] = graph.getEdgeWeight(e);
+        int[] order = EdgeSorter.sortByWeight(weights);
+        operations += m;
+        phase.finish(n, m);
 
-        UnionFind uf = new UnionFind(graph.getVertices());
+        phase = PhaseEvent.begin(getName(), PhaseEvent.MAIN_LOOP);
+        DisjointSet uf = new DisjointSet(n);
+        if (MSTMetrics.ENABLED) uf.setMetrics(metrics);
         List<Edge> mstEdges = new ArrayList<>();
         double totalCost = 0.0;
 
-        for (Edge e : edges) {
-            Vertex u = e.getFrom();
-            Vertex v = e.getTo();
-
-            if (uf.find(u) != uf.find(v)) {
-                uf.union(u, v);
-                mstEdges.add(e);
-                totalCost += e.getWeight();
+        for (int e : order) {
+            if (uf.union(graph.getEdgeFrom(e), graph.getEdgeTo(e))) {
+                mstEdges.add(edgeOf.apply(e));
+                totalCost += weights[e];
             }
             operations++;
-            if (mstEdges.size() == graph.getVertices().size() - 1) break;
+            if (mstEdges.size() == n - 1) break;
         }
 
-        long time = System.currentTimeMillis() - start;
-        return new AlgorithmResult(totalCost, time, operations,
-                graph.getVertices().size(), graph.getEdges().size(), mstEdges);
-    }
-
-    // --- Internal Union-Find class ---
-    private static class UnionFind {
-        private final Map<Vertex, Vertex> parent = new HashMap<>();
-
-        public UnionFind(Collection<Vertex> vertices) {
-            for (Vertex v : vertices) parent.put(v, v);
-        }
-
-        public Vertex find(Vertex v) {
-            if (parent.get(v) != v)
-                parent.put(v, find(parent.get(v))); // Path compression
-            return parent.get(v);
-        }
-
-        public void union(Vertex a, Vertex b) {
-            Vertex rootA = find(a);
-            Vertex rootB = find(b);
-            if (!rootA.equals(rootB))
-                parent.put(rootA, rootB);
-        }
+        phase.finish(n, m);
+        long time = (System.nanoTime() - start) / 1_000_000;
+        return new AlgorithmResult(totalCost, time, operations, n, m, mstEdges).withMetrics(metrics);
     }
-}
\ No newline at end of file
+}
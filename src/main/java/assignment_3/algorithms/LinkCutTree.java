@@ -0,0 +1,209 @@
+package assignment_3.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Array-backed link-cut tree (Sleator-Tarjan) over int nodes with a double
+ * value per node, maintaining the maximum-value node on every path.
+ *
+ * Each preferred path is a splay tree keyed by depth; reversal for
+ * {@link #makeRoot} is applied lazily. All operations run in amortized
+ * O(log n). Nodes are allocated with {@link #newNode} and can be recycled
+ * with {@link #free} once they are fully cut.
+ */
+final class LinkCutTree {
+    private static final int NIL = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;     // splay parent or path-parent
+    private int[] maxNode;    // node with the largest value in the splay subtree
+    private double[] value;
+    private boolean[] reversed;
+    private int size;
+
+    private int[] freeList = new int[16];
+    private int freeCount;
+
+    private int[] stack = new int[64]; // splay path scratch
+
+    LinkCutTree(int capacity) {
+        int c = Math.max(4, capacity);
+        left = new int[c];
+        right = new int[c];
+        parent = new int[c];
+        maxNode = new int[c];
+        value = new double[c];
+        reversed = new boolean[c];
+    }
+
+    /** Allocates an isolated node holding the given value. */
+    int newNode(double v) {
+        int x;
+        if (freeCount > 0) {
+            x = freeList[--freeCount];
+        } else {
+            if (size == left.length) grow();
+            x = size++;
+        }
+        left[x] = NIL;
+        right[x] = NIL;
+        parent[x] = NIL;
+        maxNode[x] = x;
+        value[x] = v;
+        reversed[x] = false;
+        return x;
+    }
+
+    /** Returns an isolated node (no links left) for reuse. */
+    void free(int x) {
+        if (freeCount == freeList.length) freeList = Arrays.copyOf(freeList, freeCount * 2);
+        freeList[freeCount++] = x;
+    }
+
+    double valueOf(int x) {
+        return value[x];
+    }
+
+    /** Changes the value of x, keeping the path aggregates consistent. */
+    void setValue(int x, double v) {
+        access(x);
+        value[x] = v;
+        pushUp(x);
+    }
+
+    /** Makes x the root of its represented tree. */
+    void makeRoot(int x) {
+        access(x);
+        reversed[x] ^= true;
+    }
+
+    int findRoot(int x) {
+        access(x);
+        while (true) {
+            pushDown(x);
+            if (left[x] == NIL) break;
+            x = left[x];
+        }
+        splay(x);
+        return x;
+    }
+
+    boolean connected(int x, int y) {
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /** Adds the edge x - y; x and y must be in different trees. */
+    void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /** Removes the edge x - y, which must exist. */
+    void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        // x is now the only node shallower than y on the path, i.e. y's left subtree
+        left[y] = NIL;
+        parent[x] = NIL;
+        pushUp(y);
+    }
+
+    /** Node with the largest value on the path x .. y; both must be connected. */
+    int pathMax(int x, int y) {
+        makeRoot(x);
+        access(y);
+        return maxNode[y];
+    }
+
+    // --- Splay tree internals ---
+
+    private void access(int x) {
+        int last = NIL;
+        for (int y = x; y != NIL; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pushUp(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void pushUp(int x) {
+        int best = x;
+        int l = left[x];
+        int r = right[x];
+        if (l != NIL && value[maxNode[l]] > value[best]) best = maxNode[l];
+        if (r != NIL && value[maxNode[r]] > value[best]) best = maxNode[r];
+        maxNode[x] = best;
+    }
+
+    private void pushDown(int x) {
+        if (!reversed[x]) return;
+        int l = left[x];
+        left[x] = right[x];
+        right[x] = l;
+        if (left[x] != NIL) reversed[left[x]] ^= true;
+        if (right[x] != NIL) reversed[right[x]] ^= true;
+        reversed[x] = false;
+    }
+
+    private void splay(int x) {
+        // Push pending reversals down from the splay root to x
+        int depth = 0;
+        for (int y = x; ; y = parent[y]) {
+            if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+            stack[depth++] = y;
+            if (isSplayRoot(y)) break;
+        }
+        while (depth > 0) pushDown(stack[--depth]);
+
+        while (!isSplayRoot(x)) {
+            int y = parent[x];
+            if (!isSplayRoot(y)) {
+                int z = parent[y];
+                boolean zigZig = (left[y] == x) == (left[z] == y);
+                rotate(zigZig ? y : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void rotate(int x) {
+        int y = parent[x];
+        int z = parent[y];
+        boolean yWasRoot = isSplayRoot(y);
+        if (left[y] == x) {
+            left[y] = right[x];
+            if (right[x] != NIL) parent[right[x]] = y;
+            right[x] = y;
+        } else {
+            right[y] = left[x];
+            if (left[x] != NIL) parent[left[x]] = y;
+            left[x] = y;
+        }
+        parent[y] = x;
+        parent[x] = z;
+        if (!yWasRoot) {
+            if (left[z] == y) left[z] = x;
+            else right[z] = x;
+        }
+        pushUp(y);
+        pushUp(x);
+    }
+
+    private void grow() {
+        int c = left.length * 2;
+        left = Arrays.copyOf(left, c);
+        right = Arrays.copyOf(right, c);
+        parent = Arrays.copyOf(parent, c);
+        maxNode = Arrays.copyOf(maxNode, c);
+        value = Arrays.copyOf(value, c);
+        reversed = Arrays.copyOf(reversed, c);
+    }
+}
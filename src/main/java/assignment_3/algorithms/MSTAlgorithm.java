@@ -0,0 +1,23 @@
+package assignment_3.algorithms;
+
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Graph;
+
+/**
+ * Common surface of every minimum spanning tree engine, so runners can
+ * treat Prim, Kruskal and their variants interchangeably.
+ */
+public interface MSTAlgorithm {
+
+    /** Short display name used in reports (e.g. "Prim"). */
+    String getName();
+
+    /**
+     * The reported execution time covers the whole call, including any
+     * conversion of the graph into the engine's own form, so engines that
+     * freeze it first compare fairly with ones that walk it directly.
+     */
+    AlgorithmResult run(Graph graph);
+
+    AlgorithmResult run(CompactGraph graph);
+}
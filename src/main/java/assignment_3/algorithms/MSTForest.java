@@ -0,0 +1,102 @@
+package assignment_3.algorithms;
+
+import assignment_3.model.Edge;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Minimum spanning forest of a possibly disconnected graph: one
+ * {@link AlgorithmResult} per connected component plus aggregate totals.
+ * Components are ordered by the first appearance of their vertices.
+ */
+public class MSTForest {
+
+    /** One connected component and its minimum spanning tree. */
+    public static final class Component {
+        private final String firstVertex;
+        private final AlgorithmResult tree;
+
+        Component(String firstVertex, AlgorithmResult tree) {
+            this.firstVertex = firstVertex;
+            this.tree = tree;
+        }
+
+        /** Id of the component's first vertex, in graph order. */
+        public String getFirstVertex() {
+            return firstVertex;
+        }
+
+        public int getVertexCount() {
+            return tree.getVertexCount();
+        }
+
+        public int getEdgeCount() {
+            return tree.getEdgeCount();
+        }
+
+        public double getTotalCost() {
+            return tree.getTotalCost();
+        }
+
+        public AlgorithmResult getTree() {
+            return tree;
+        }
+    }
+
+    private final List<Component> components;
+    private final int vertexCount;
+    private final int edgeCount;
+    private final long executionTimeMs;
+
+    MSTForest(List<Component> components, int vertexCount, int edgeCount, long executionTimeMs) {
+        this.components = Collections.unmodifiableList(components);
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public List<Component> getComponents() {
+        return components;
+    }
+
+    public int getComponentCount() {
+        return components.size();
+    }
+
+    public double getTotalCost() {
+        double total = 0.0;
+        for (Component c : components) total += c.getTotalCost();
+        return total;
+    }
+
+    /** Forest edges over all components: V minus the component count. */
+    public int getForestEdgeCount() {
+        int count = 0;
+        for (Component c : components) count += c.getTree().getEdges().size();
+        return count;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public long getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    /** Flattens the forest into a single result, e.g. for the report sinks. */
+    public AlgorithmResult toAlgorithmResult() {
+        List<Edge> edges = new ArrayList<>(getForestEdgeCount());
+        long operations = 0;
+        for (Component c : components) {
+            edges.addAll(c.getTree().getEdges());
+            operations += c.getTree().getOperationCount();
+        }
+        return new AlgorithmResult(getTotalCost(), executionTimeMs, operations, vertexCount, edgeCount, edges);
+    }
+}
@@ -0,0 +1,286 @@
+package assignment_3.algorithms;
+
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import assignment_3.model.Graph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Certifies an {@link AlgorithmResult} against its graph without solving the
+ * MST again.
+ *
+ * Structure: every result edge must be an edge of the graph, the edges must
+ * be acyclic, span every connected component and add up to the reported
+ * total cost.
+ *
+ * Minimality (cycle property): no non-tree edge u - v may be lighter than
+ * the heaviest tree edge on the tree path u .. v. All those path-max queries
+ * are answered in one batch: the tree edges, sorted by weight, are merged
+ * into a Kruskal reconstruction tree, in which the path maximum between two
+ * vertices is the weight of their lowest common ancestor, and all LCAs are
+ * found with Tarjan's offline algorithm. Total cost is
+ * O(V log V + E * alpha(V)), dominated by sorting the V-1 tree edges.
+ */
+public final class MSTVerifier {
+
+    private static final int MAX_REPORTED_PROBLEMS = 10;
+
+    private MSTVerifier() {
+    }
+
+    /** Outcome of a verification. */
+    public static final class Report {
+        private final List<String> problems = new ArrayList<>();
+        private boolean spanningTree = true;
+        private boolean minimal = true;
+        private long violations;
+
+        private void structureProblem(String message) {
+            spanningTree = false;
+            add(message);
+        }
+
+        private void minimalityViolation(String message) {
+            minimal = false;
+            violations++;
+            add(message);
+        }
+
+        private void add(String message) {
+            if (problems.size() < MAX_REPORTED_PROBLEMS) problems.add(message);
+        }
+
+        public boolean isValid() {
+            return spanningTree && minimal;
+        }
+
+        /** True if the edges form a spanning forest of the graph with the reported cost. */
+        public boolean isSpanningTree() {
+            return spanningTree;
+        }
+
+        /** True if no non-tree edge violates the cycle property (only checked for valid structures). */
+        public boolean isMinimal() {
+            return minimal;
+        }
+
+        /** Number of non-tree edges lighter than the heaviest edge on their tree path. */
+        public long getViolations() {
+            return violations;
+        }
+
+        /** Descriptions of the first problems found. */
+        public List<String> getProblems() {
+            return Collections.unmodifiableList(problems);
+        }
+
+        @Override
+        public String toString() {
+            return isValid() ? "valid MST" : "invalid MST: " + String.join("; ", problems);
+        }
+    }
+
+    public static Report verify(Graph graph, AlgorithmResult result) {
+        return verify(graph.toCompactGraph(), result);
+    }
+
+    public static Report verify(CompactGraph graph, AlgorithmResult result) {
+        Report report = new Report();
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        List<Edge> tree = result.getEdges();
+        int t = tree.size();
+
+        // --- Resolve tree edges to vertex ids ---
+        int[] treeFrom = new int[t];
+        int[] treeTo = new int[t];
+        double[] treeWeight = new double[t];
+        for (int i = 0; i < t; i++) {
+            Edge e = tree.get(i);
+            treeFrom[i] = graph.indexOf(e.getFrom().getId());
+            treeTo[i] = graph.indexOf(e.getTo().getId());
+            treeWeight[i] = e.getWeight();
+            if (treeFrom[i] < 0 || treeTo[i] < 0) {
+                report.structureProblem("Tree edge " + e + " has a vertex that is not in the graph");
+                return report;
+            }
+        }
+
+        // --- Acyclic, correct cost ---
+        DisjointSet treeSets = new DisjointSet(n);
+        double sum = 0.0;
+        for (int i = 0; i < t; i++) {
+            if (!treeSets.union(treeFrom[i], treeTo[i])) {
+                report.structureProblem("Tree edge " + tree.get(i) + " closes a cycle");
+            }
+            sum += treeWeight[i];
+        }
+        if (Math.abs(sum - result.getTotalCost()) > 1e-9 * Math.max(1.0, Math.abs(sum))) {
+            report.structureProblem("Reported total cost " + result.getTotalCost() + " but edges sum to " + sum);
+        }
+
+        // --- Every tree edge is a graph edge (with multiplicity) ---
+        Map<EdgeKey, Integer> unmatched = new HashMap<>(Math.max(16, 2 * t));
+        for (int i = 0; i < t; i++) {
+            unmatched.merge(new EdgeKey(treeFrom[i], treeTo[i], treeWeight[i]), 1, Integer::sum);
+        }
+        boolean[] inTree = new boolean[m];
+        DisjointSet graphSets = new DisjointSet(n);
+        for (int e = 0; e < m; e++) {
+            int u = graph.getEdgeFrom(e);
+            int v = graph.getEdgeTo(e);
+            graphSets.union(u, v);
+            if (unmatched.isEmpty()) continue;
+            EdgeKey key = new EdgeKey(u, v, graph.getEdgeWeight(e));
+            Integer count = unmatched.get(key);
+            if (count != null) {
+                inTree[e] = true;
+                if (count == 1) unmatched.remove(key);
+                else unmatched.put(key, count - 1);
+            }
+        }
+        for (EdgeKey key : unmatched.keySet()) {
+            report.structureProblem("Tree edge " + graph.getVertexId(key.u) + " -- " + graph.getVertexId(key.v)
+                    + " (" + key.weight + ") is not an edge of the graph");
+        }
+
+        // --- Spans every component ---
+        if (treeSets.componentCount() != graphSets.componentCount()) {
+            report.structureProblem("Tree has " + treeSets.componentCount() + " components but the graph has "
+                    + graphSets.componentCount());
+        }
+        if (!report.isSpanningTree()) return report;
+
+        checkCycleProperty(graph, treeFrom, treeTo, treeWeight, inTree, report);
+        return report;
+    }
+
+    private static void checkCycleProperty(CompactGraph graph, int[] treeFrom, int[] treeTo, double[] treeWeight,
+                                           boolean[] inTree, Report report) {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        int t = treeFrom.length;
+
+        // --- Kruskal reconstruction tree: leaves 0..n-1, merge nodes n..n+t-1 ---
+        int nodes = n + t;
+        int[] left = new int[nodes];
+        int[] right = new int[nodes];
+        double[] weight = new double[nodes];
+        boolean[] hasParent = new boolean[nodes];
+        Arrays.fill(left, -1);
+        Arrays.fill(right, -1);
+
+        DisjointSet sets = new DisjointSet(n);
+        int[] topOf = new int[n]; // set root -> its current reconstruction tree node
+        for (int v = 0; v < n; v++) topOf[v] = v;
+        int next = n;
+        for (int i : EdgeSorter.sortByWeight(treeWeight)) {
+            int a = topOf[sets.find(treeFrom[i])];
+            int b = topOf[sets.find(treeTo[i])];
+            sets.union(treeFrom[i], treeTo[i]);
+            left[next] = a;
+            right[next] = b;
+            weight[next] = treeWeight[i];
+            hasParent[a] = true;
+            hasParent[b] = true;
+            topOf[sets.find(treeFrom[i])] = next++;
+        }
+
+        // --- Path-max queries: one per non-tree edge, listed at both endpoints ---
+        int[] queryEdge = new int[m];
+        int queries = 0;
+        int[] queryStart = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            if (inTree[e] || graph.getEdgeFrom(e) == graph.getEdgeTo(e)) continue;
+            queryEdge[queries++] = e;
+            queryStart[graph.getEdgeFrom(e) + 1]++;
+            queryStart[graph.getEdgeTo(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) queryStart[v + 1] += queryStart[v];
+        int[] queryAt = new int[2 * queries];
+        int[] fill = Arrays.copyOf(queryStart, n);
+        for (int q = 0; q < queries; q++) {
+            int e = queryEdge[q];
+            queryAt[fill[graph.getEdgeFrom(e)]++] = q;
+            queryAt[fill[graph.getEdgeTo(e)]++] = q;
+        }
+
+        // --- Tarjan's offline LCA, iterative post-order over each reconstruction tree ---
+        DisjointSet lcaSets = new DisjointSet(nodes);
+        int[] ancestor = new int[nodes];
+        boolean[] done = new boolean[nodes];
+        int[] stack = new int[nodes];
+        byte[] stage = new byte[nodes]; // children already descended into
+
+        for (int root = 0; root < nodes; root++) {
+            if (hasParent[root]) continue;
+            int top = 0;
+            stack[top++] = root;
+            ancestor[root] = root;
+            while (top > 0) {
+                int x = stack[top - 1];
+                int child = stage[x] == 0 ? left[x] : stage[x] == 1 ? right[x] : -1;
+                if (child >= 0) {
+                    stage[x]++;
+                    ancestor[child] = child;
+                    stack[top++] = child;
+                    continue;
+                }
+
+                // x is finished: answer its queries, then merge it into its parent
+                top--;
+                done[x] = true;
+                if (x < n) {
+                    for (int i = queryStart[x]; i < queryStart[x + 1]; i++) {
+                        int e = queryEdge[queryAt[i]];
+                        int other = graph.getEdgeFrom(e) == x ? graph.getEdgeTo(e) : graph.getEdgeFrom(e);
+                        if (!done[other]) continue; // answered when the other endpoint finishes
+                        double pathMax = weight[ancestor[lcaSets.find(other)]];
+                        double w = graph.getEdgeWeight(e);
+                        if (w < pathMax) {
+                            report.minimalityViolation("Non-tree edge " + graph.getVertexId(graph.getEdgeFrom(e))
+                                    + " -- " + graph.getVertexId(graph.getEdgeTo(e)) + " (" + w
+                                    + ") is lighter than the heaviest tree edge on its cycle (" + pathMax + ")");
+                        }
+                    }
+                }
+                if (top > 0) {
+                    int parent = stack[top - 1];
+                    lcaSets.union(parent, x);
+                    ancestor[lcaSets.find(parent)] = parent;
+                }
+            }
+        }
+    }
+
+    /** Unordered endpoint pair plus exact weight. */
+    private static final class EdgeKey {
+        final int u;
+        final int v;
+        final double weight;
+
+        EdgeKey(int a, int b, double weight) {
+            this.u = Math.min(a, b);
+            this.v = Math.max(a, b);
+            this.weight = weight;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof EdgeKey)) return false;
+            EdgeKey k = (EdgeKey) o;
+            return u == k.u && v == k.v && Double.compare(weight, k.weight) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(u, v, weight);
+        }
+    }
+}
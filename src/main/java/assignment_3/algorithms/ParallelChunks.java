@@ -0,0 +1,66 @@
+package assignment_3.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Splits an index range into equal chunks and runs one task per chunk on a
+ * {@link ForkJoinPool}, collecting an int per chunk (typically a count).
+ */
+final class ParallelChunks {
+
+    @FunctionalInterface
+    interface ChunkTask {
+        /** Processes [from, to) and returns a per-chunk result. */
+        int apply(int chunk, int from, int to);
+    }
+
+    private ParallelChunks() {
+    }
+
+    static int chunkStart(int length, int chunks, int c) {
+        return (int) ((long) length * c / chunks);
+    }
+
+    /** Runs task over chunks of [offset, offset + length) and returns each chunk's result. */
+    static int[] run(ForkJoinPool pool, int offset, int length, int chunks, ChunkTask task) {
+        List<Callable<Integer>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            int from = offset + chunkStart(length, chunks, c);
+            int to = offset + chunkStart(length, chunks, c + 1);
+            tasks.add(() -> task.apply(chunk, from, to));
+        }
+
+        int[] results = new int[chunks];
+        List<Future<Integer>> futures = pool.invokeAll(tasks);
+        try {
+            for (int i = 0; i < chunks; i++) results[i] = futures.get(i).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel chunk interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Parallel chunk failed", ex.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * After every chunk of [offset, offset + length) compacted its survivors
+     * to its own front, slides them together. Returns the survivor count.
+     */
+    static int concatenate(int[] a, int offset, int length, int[] kept) {
+        int chunks = kept.length;
+        int write = offset;
+        for (int c = 0; c < chunks; c++) {
+            int from = offset + chunkStart(length, chunks, c);
+            System.arraycopy(a, from, a, write, kept[c]);
+            write += kept[c];
+        }
+        return write - offset;
+    }
+}
@@ -0,0 +1,74 @@
+package assignment_3.algorithms;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Worker process of {@link PartitionedMSTAlgorithm}: answers minimum
+ * spanning forest requests over stdin/stdout until told to stop.
+ *
+ * <pre>
+ * request  := vertexCount:int edgeCount:int (from:int to:int weight:double) * edgeCount
+ * stop     := 0:int -1:int            (or end of stream)
+ * response := forestCount:int localEdgeIndex:int * forestCount   (ascending)
+ * </pre>
+ *
+ * All numbers are big-endian ({@link DataOutputStream}). Ties are broken by
+ * position in the request, so a coordinator that sends edges in ascending
+ * global order gets the same forest at every merge level.
+ */
+public final class PartitionWorker {
+
+    private PartitionWorker() {
+    }
+
+    /** Solves one request: Kruskal over the received edges, returning the accepted indices in ascending order. */
+    static int[] localForest(int vertexCount, int[] from, int[] to, double[] weights) {
+        int[] order = EdgeSorter.sortByWeight(weights); // stable, so ties keep request order
+        DisjointSet uf = new DisjointSet(vertexCount);
+        int[] forest = new int[Math.min(from.length, Math.max(0, vertexCount - 1))];
+        int accepted = 0;
+        for (int e : order) {
+            if (accepted == forest.length) break;
+            if (uf.union(from[e], to[e])) forest[accepted++] = e;
+        }
+        forest = Arrays.copyOf(forest, accepted);
+        Arrays.sort(forest);
+        return forest;
+    }
+
+    public static void main(String[] args) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(System.in, 1 << 16));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(System.out, 1 << 16));
+        while (true) {
+            int vertexCount;
+            int edgeCount;
+            try {
+                vertexCount = in.readInt();
+                edgeCount = in.readInt();
+            } catch (EOFException ex) {
+                break;
+            }
+            if (edgeCount < 0) break;
+
+            int[] from = new int[edgeCount];
+            int[] to = new int[edgeCount];
+            double[] weights = new double[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                from[e] = in.readInt();
+                to[e] = in.readInt();
+                weights[e] = in.readDouble();
+            }
+
+            int[] forest = localForest(vertexCount, from, to, weights);
+            out.writeInt(forest.length);
+            for (int e : forest) out.writeInt(e);
+            out.flush();
+        }
+    }
+}
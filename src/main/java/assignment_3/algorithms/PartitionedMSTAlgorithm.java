@@ -0,0 +1,252 @@
+package assignment_3.algorithms;
+
+import assignment_3.io.MappedGraphFile;
+import assignment_3.io.MappedGraphFile.MappedGraph;
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import assignment_3.model.EdgeList;
+import assignment_3.model.Graph;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Minimum spanning forest computed by separate worker JVMs on one machine.
+ *
+ * The edge list is split into contiguous ranges, one per worker process
+ * ({@link PartitionWorker}, started with the coordinator's classpath and
+ * fed over its stdin/stdout pipes). Each worker returns the minimum
+ * spanning forest of its range. By the cycle property an edge left out of
+ * any subset's forest is never needed, so forests are then merged in
+ * pairs, level by level, again on the workers, keeping only forest edges,
+ * until one forest remains. Edges always travel in ascending global order
+ * and workers break ties by position, which makes every level use the same
+ * total order and the result a true MST even with equal weights.
+ *
+ * A worker holds only its own range plus O(V) for the disjoint set; the
+ * coordinator streams ranges straight from the edge list (which may be a
+ * memory-mapped {@link MappedGraph}) and keeps only forest edge indices.
+ */
+public class PartitionedMSTAlgorithm implements MSTAlgorithm {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final int workers;
+    private final List<String> jvmOptions;
+
+    public PartitionedMSTAlgorithm(int workers) {
+        this(workers, List.of());
+    }
+
+    /**
+     * @param workers    number of worker processes
+     * @param jvmOptions extra worker JVM options, e.g. "-Xmx2g"
+     */
+    public PartitionedMSTAlgorithm(int workers, List<String> jvmOptions) {
+        if (workers < 1) throw new IllegalArgumentException("Need at least one worker");
+        this.workers = workers;
+        this.jvmOptions = List.copyOf(jvmOptions);
+    }
+
+    @Override
+    public String getName() {
+        return "Partitioned";
+    }
+
+    /** Runs on the frozen form of the graph; result edges are the graph's own Edge objects. */
+    @Override
+    public AlgorithmResult run(Graph graph) {
+        long start = System.nanoTime(); // freezing the graph is part of the run
+        List<Edge> edges = graph.getEdges();
+        return run(graph.toCompactGraph(), edges::get, start);
+    }
+
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        return run(graph, graph::toEdge, System.nanoTime());
+    }
+
+    public AlgorithmResult run(EdgeList edges) {
+        return run(edges, edges::toEdge, System.nanoTime());
+    }
+
+    private AlgorithmResult run(EdgeList graph, IntFunction<Edge> edgeOf, long start) {
+        try {
+            return solve(graph, edgeOf, start);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Partitioned MST failed", ex);
+        }
+    }
+
+    private AlgorithmResult solve(EdgeList graph, IntFunction<Edge> edgeOf, long start) throws IOException {
+        long operations = 0;
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        int[] forest = new int[0];
+
+        PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.MAIN_LOOP);
+        if (m > 0) {
+            int count = (int) Math.min(workers, m);
+            List<Worker> pool = new ArrayList<>(count);
+            try {
+                for (int w = 0; w < count; w++) pool.add(new Worker());
+
+                // --- Level 0: one contiguous range per worker ---
+                List<int[]> forests = new ArrayList<>(count);
+                for (int w = 0; w < count; w++) {
+                    int from = ParallelChunks.chunkStart(m, count, w);
+                    int to = ParallelChunks.chunkStart(m, count, w + 1);
+                    pool.get(w).send(graph, n, from, to);
+                    operations += to - from;
+                }
+                for (int w = 0; w < count; w++) {
+                    int[] local = pool.get(w).receive();
+                    int offset = ParallelChunks.chunkStart(m, count, w);
+                    for (int i = 0; i < local.length; i++) local[i] += offset;
+                    forests.add(local);
+                }
+
+                // --- Merge levels: pairs of forests, at most one request per worker in flight ---
+                while (forests.size() > 1) {
+                    List<int[]> merged = new ArrayList<>((forests.size() + 1) / 2);
+                    for (int first = 0; first < forests.size(); first += 2 * count) {
+                        List<int[]> inFlight = new ArrayList<>(count);
+                        for (int p = first; p + 1 < forests.size() && p < first + 2 * count; p += 2) {
+                            int[] union = mergeAscending(forests.get(p), forests.get(p + 1));
+                            pool.get(inFlight.size()).send(graph, n, union);
+                            operations += union.length;
+                            inFlight.add(union);
+                        }
+                        for (int i = 0; i < inFlight.size(); i++) {
+                            int[] union = inFlight.get(i);
+                            int[] local = pool.get(i).receive();
+                            for (int j = 0; j < local.length; j++) local[j] = union[local[j]];
+                            merged.add(local);
+                        }
+                    }
+                    if (forests.size() % 2 == 1) merged.add(forests.get(forests.size() - 1));
+                    forests = merged;
+                }
+                forest = forests.get(0);
+            } finally {
+                for (Worker w : pool) w.close();
+            }
+        }
+        phase.finish(n, m);
+
+        List<Edge> mstEdges = new ArrayList<>(forest.length);
+        double totalCost = 0.0;
+        for (int e : forest) {
+            mstEdges.add(edgeOf.apply(e));
+            totalCost += graph.getEdgeWeight(e);
+        }
+        long time = (System.nanoTime() - start) / 1_000_000;
+        return new AlgorithmResult(totalCost, time, operations, n, m, mstEdges);
+    }
+
+    private static int[] mergeAscending(int[] a, int[] b) {
+        int[] out = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) out[k++] = a[i] <= b[j] ? a[i++] : b[j++];
+        while (i < a.length) out[k++] = a[i++];
+        while (j < b.length) out[k++] = b[j++];
+        return out;
+    }
+
+    /** One worker JVM and its pipes; see {@link PartitionWorker} for the protocol. */
+    private final class Worker implements AutoCloseable {
+        private final Process process;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+
+        Worker() throws IOException {
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmOptions);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(PartitionWorker.class.getName());
+            process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream(), 1 << 16));
+            in = new DataInputStream(new BufferedInputStream(process.getInputStream(), 1 << 16));
+        }
+
+        /** Sends edges [from, to) of the graph. */
+        void send(EdgeList graph, int vertexCount, int from, int to) throws IOException {
+            out.writeInt(vertexCount);
+            out.writeInt(to - from);
+            for (int e = from; e < to; e++) writeEdge(graph, e);
+            out.flush();
+        }
+
+        /** Sends the listed edges of the graph, in the given order. */
+        void send(EdgeList graph, int vertexCount, int[] edges) throws IOException {
+            out.writeInt(vertexCount);
+            out.writeInt(edges.length);
+            for (int e : edges) writeEdge(graph, e);
+            out.flush();
+        }
+
+        private void writeEdge(EdgeList graph, int e) throws IOException {
+            out.writeInt(graph.getEdgeFrom(e));
+            out.writeInt(graph.getEdgeTo(e));
+            out.writeDouble(graph.getEdgeWeight(e));
+        }
+
+        /** Indices into the last request of the edges in its forest, ascending. */
+        int[] receive() throws IOException {
+            int count = in.readInt();
+            int[] forest = new int[count];
+            for (int i = 0; i < count; i++) forest[i] = in.readInt();
+            return forest;
+        }
+
+        @Override
+        public void close() {
+            try (DataOutputStream stop = out) {
+                stop.writeInt(0);
+                stop.writeInt(-1);
+            } catch (IOException ignored) {
+                // the worker is gone already
+            }
+            try {
+                if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) process.destroyForcibly();
+            } catch (InterruptedException ex) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Usage: PartitionedMSTAlgorithm graphs.mstg [workers]
+     * Prints the MST cost of every graph in a binary graph file.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: PartitionedMSTAlgorithm graphs.mstg [workers]");
+            System.exit(2);
+        }
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        PartitionedMSTAlgorithm partitioned = new PartitionedMSTAlgorithm(workers);
+        try (MappedGraphFile file = MappedGraphFile.open(Paths.get(args[0]))) {
+            for (MappedGraph g : file.getGraphs()) {
+                AlgorithmResult r = partitioned.run(g);
+                System.out.printf("%s: V=%d E=%d cost=%.4f edges=%d time=%d ms%n", g.getName(),
+                        r.getVertexCount(), r.getEdgeCount(), r.getTotalCost(), r.getEdges().size(),
+                        r.getExecutionTimeMs());
+            }
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package assignment_3.algorithms;
 
+import assignment_3.metrics.MSTMetrics;
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
 import assignment_3.model.Edge;
 import assignment_3.model.Graph;
 import assignment_3.model.Vertex;
 import java.util.*;
 
-public class PrimAlgorithm {
+public class PrimAlgorithm implements MSTAlgorithm {
 
+    @Override
+    public String getName() {
+        return "Prim";
+    }
+
+    @Override
     public AlgorithmResult run(Graph graph) {
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         long operations = 0;
+        MSTMetrics metrics = MSTMetrics.create();
+        PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.MAIN_LOOP);
 
         Set<Vertex> visited = new HashSet<>();
-        PriorityQueue<Edge> pq = new PriorityQueue<>(Comparator.comparingDouble(Edge::getWeight));
+        Comparator<Edge> byWeight = Comparator.comparingDouble(Edge::getWeight);
+        if (MSTMetrics.ENABLED) byWeight = metrics.counting(byWeight);
+        PriorityQueue<Edge> pq = new PriorityQueue<>(byWeight);
         List<Edge> mstEdges = new ArrayList<>();
         double totalCost = 0.0;
 
@@ -21,13 +34,18 @@ public class PrimAlgorithm {
         visited.add(startVertex);
         pq.addAll(graph.getEdgesFrom(startVertex));
         operations += graph.getEdgesFrom(startVertex).size();
+        if (MSTMetrics.ENABLED) for (int i = 0; i < pq.size(); i++) metrics.heapPush();
 
         while (!pq.isEmpty() && visited.size() < graph.getVertices().size()) {
             Edge edge = pq.poll();
             operations++;
+            if (MSTMetrics.ENABLED) metrics.heapPop();
             Vertex next = !visited.contains(edge.getFrom()) ? edge.getFrom() : edge.getTo();
 
-            if (visited.contains(next)) continue;
+            if (visited.contains(next)) {
+                if (MSTMetrics.ENABLED) metrics.stalePop();
+                continue;
+            }
 
             visited.add(next);
             mstEdges.add(edge);
@@ -38,12 +56,76 @@ public class PrimAlgorithm {
                 if (!visited.contains(other)) {
                     pq.add(neighbor);
                     operations++;
+                    if (MSTMetrics.ENABLED) metrics.heapPush();
+                }
+            }
+        }
+
+        phase.finish(graph.getVertices().size(), graph.getEdges().size());
+        long time = (System.nanoTime() - start) / 1_000_000;
+        return new AlgorithmResult(totalCost, time, operations,
+                graph.getVertices().size(), graph.getEdges().size(), mstEdges).withMetrics(metrics);
+    }
+
+    /**
+     * Same lazy Prim over a frozen CSR graph: the queue holds adjacency slots
+     * instead of Edge objects and visited is a boolean array.
+     */
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        long start = System.nanoTime();
+        long operations = 0;
+
+        MSTMetrics metrics = MSTMetrics.create();
+        PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.MAIN_LOOP);
+
+        int n = graph.getVertexCount();
+        boolean[] visited = new boolean[n];
+        Comparator<Integer> bySlotWeight = Comparator.comparingDouble(graph::getWeight);
+        if (MSTMetrics.ENABLED) bySlotWeight = metrics.counting(bySlotWeight);
+        PriorityQueue<Integer> pq = new PriorityQueue<>(bySlotWeight);
+        List<Edge> mstEdges = new ArrayList<>();
+        double totalCost = 0.0;
+
+        if (n > 0) {
+            // Start from the first interned vertex
+            int visitedCount = 1;
+            visited[0] = true;
+            for (int s = graph.adjacencyStart(0); s < graph.adjacencyEnd(0); s++) {
+                pq.add(s);
+                operations++;
+                if (MSTMetrics.ENABLED) metrics.heapPush();
+            }
+
+            while (!pq.isEmpty() && visitedCount < n) {
+                int slot = pq.poll();
+                operations++;
+                if (MSTMetrics.ENABLED) metrics.heapPop();
+                int next = graph.getTarget(slot);
+
+                if (visited[next]) {
+                    if (MSTMetrics.ENABLED) metrics.stalePop();
+                    continue;
+                }
+
+                visited[next] = true;
+                visitedCount++;
+                mstEdges.add(graph.toEdge(graph.getEdgeId(slot)));
+                totalCost += graph.getWeight(slot);
+
+                for (int s = graph.adjacencyStart(next); s < graph.adjacencyEnd(next); s++) {
+                    if (!visited[graph.getTarget(s)]) {
+                        pq.add(s);
+                        operations++;
+                        if (MSTMetrics.ENABLED) metrics.heapPush();
+                    }
                 }
             }
         }
 
-        long time = System.currentTimeMillis() - start;
+        phase.finish(n, graph.getEdgeCount());
+        long time = (System.nanoTime() - start) / 1_000_000;
         return new AlgorithmResult(totalCost, time, operations,
-                graph.getVertices().size(), graph.getEdges().size(), mstEdges);
+                n, graph.getEdgeCount(), mstEdges).withMetrics(metrics);
     }
 }
@@ -0,0 +1,161 @@
+package assignment_3.algorithms;
+
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Graph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Minimum spanning forest: splits the graph into connected components and
+ * solves each one independently with a wrapped engine, in parallel.
+ *
+ * Components are found by uniting all edges through a
+ * {@link ConcurrentDisjointSet} in parallel chunks. Vertices and edges are
+ * then bucketed per component (counting sort), and every component with
+ * more than one vertex becomes a task that freezes its own sub-graph and
+ * runs the engine on it. Isolated vertices need no task. Any engine works,
+ * including Prim, which on its own only spans the first vertex's component.
+ */
+public class SpanningForestAlgorithm implements MSTAlgorithm {
+
+    private final MSTAlgorithm engine;
+    private final ForkJoinPool pool;
+
+    public SpanningForestAlgorithm() {
+        this(new IndexedPrimAlgorithm());
+    }
+
+    public SpanningForestAlgorithm(MSTAlgorithm engine) {
+        this(engine, ForkJoinPool.commonPool());
+    }
+
+    public SpanningForestAlgorithm(MSTAlgorithm engine, ForkJoinPool pool) {
+        this.engine = engine;
+        this.pool = pool;
+    }
+
+    @Override
+    public String getName() {
+        return engine.getName() + "Forest";
+    }
+
+    @Override
+    public AlgorithmResult run(Graph graph) {
+        return solve(graph).toAlgorithmResult();
+    }
+
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        return solve(graph).toAlgorithmResult();
+    }
+
+    public MSTForest solve(Graph graph) {
+        long start = System.nanoTime(); // freezing the graph is part of the run
+        return solve(graph.toCompactGraph(), start);
+    }
+
+    /** Per-component minimum spanning trees of the graph. */
+    public MSTForest solve(CompactGraph graph) {
+        return solve(graph, System.nanoTime());
+    }
+
+    private MSTForest solve(CompactGraph graph, long start) {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        int chunks = Math.max(1, pool.getParallelism() * 4);
+
+        // --- Phase 1: connected components, in parallel ---
+        PhaseEvent phase = PhaseEvent.begin(getName(), PhaseEvent.COMPONENTS);
+        ConcurrentDisjointSet uf = new ConcurrentDisjointSet(n);
+        ParallelChunks.run(pool, 0, m, chunks, (chunk, from, to) -> {
+            for (int e = from; e < to; e++) uf.union(graph.getEdgeFrom(e), graph.getEdgeTo(e));
+            return 0;
+        });
+        int[] root = new int[n];
+        ParallelChunks.run(pool, 0, n, chunks, (chunk, from, to) -> {
+            for (int v = from; v < to; v++) root[v] = uf.find(v);
+            return 0;
+        });
+        phase.finish(n, m);
+
+        // --- Phase 2: dense component ids and per-component buckets ---
+        int[] componentOf = new int[n];
+        int[] localId = new int[n];
+        int[] idOfRoot = new int[n];
+        Arrays.fill(idOfRoot, -1);
+        int k = 0;
+        int[] vertexCount = new int[Math.max(1, n)];
+        for (int v = 0; v < n; v++) {
+            int r = root[v];
+            if (idOfRoot[r] < 0) idOfRoot[r] = k++;
+            int c = idOfRoot[r];
+            componentOf[v] = c;
+            localId[v] = vertexCount[c]++;
+        }
+        int[] vertexStart = prefixSums(vertexCount, k);
+        int[] vertices = new int[n];
+        int[] next = Arrays.copyOf(vertexStart, k);
+        for (int v = 0; v < n; v++) vertices[next[componentOf[v]]++] = v;
+
+        int[] edgeCount = new int[Math.max(1, k)];
+        for (int e = 0; e < m; e++) edgeCount[componentOf[graph.getEdgeFrom(e)]]++;
+        int[] edgeStart = prefixSums(edgeCount, k);
+        int[] edges = new int[m];
+        next = Arrays.copyOf(edgeStart, k);
+        for (int e = 0; e < m; e++) edges[next[componentOf[graph.getEdgeFrom(e)]]++] = e;
+
+        // --- Phase 3: one engine run per non-trivial component, in parallel ---
+        AlgorithmResult[] trees = new AlgorithmResult[k];
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int c = 0; c < k; c++) {
+            if (vertexCount[c] == 1) {
+                trees[c] = new AlgorithmResult(0.0, 0, 0, 1, edgeCount[c], new ArrayList<>());
+                continue;
+            }
+            int component = c;
+            tasks.add(() -> {
+                CompactGraph.Builder sub = new CompactGraph.Builder(vertexCount[component], edgeCount[component]);
+                for (int i = vertexStart[component]; i < vertexStart[component + 1]; i++) {
+                    sub.addVertex(graph.getVertexId(vertices[i]));
+                }
+                for (int i = edgeStart[component]; i < edgeStart[component + 1]; i++) {
+                    int e = edges[i];
+                    sub.addEdge(localId[graph.getEdgeFrom(e)], localId[graph.getEdgeTo(e)], graph.getEdgeWeight(e));
+                }
+                trees[component] = engine.run(sub.build());
+                return null;
+            });
+        }
+        invokeAll(tasks);
+
+        List<MSTForest.Component> components = new ArrayList<>(k);
+        for (int c = 0; c < k; c++) {
+            components.add(new MSTForest.Component(graph.getVertexId(vertices[vertexStart[c]]), trees[c]));
+        }
+        long time = (System.nanoTime() - start) / 1_000_000;
+        return new MSTForest(components, n, m, time);
+    }
+
+    private static int[] prefixSums(int[] counts, int k) {
+        int[] start = new int[k + 1];
+        for (int c = 0; c < k; c++) start[c + 1] = start[c] + counts[c];
+        return start;
+    }
+
+    private void invokeAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> f : pool.invokeAll(tasks)) f.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Spanning forest interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Component MST failed", ex.getCause());
+        }
+    }
+}
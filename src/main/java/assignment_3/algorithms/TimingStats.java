@@ -0,0 +1,88 @@
+package assignment_3.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Summary of repeated timed runs of one algorithm on one graph.
+ *
+ * All times are in nanoseconds. The raw trial samples are kept (in run order)
+ * so reports can be compared statistically later. Allocated bytes are the
+ * mean per trial as seen by the measuring thread, or -1 when the JVM cannot
+ * report thread allocation.
+ */
+public final class TimingStats {
+    private final int warmupIterations;
+    private final long[] samples;
+    private final long minNanos;
+    private final long medianNanos;
+    private final long p95Nanos;
+    private final double meanNanos;
+    private final double stddevNanos;
+    private final long allocatedBytesPerRun;
+
+    private TimingStats(int warmupIterations, long[] samples, long allocatedBytesPerRun) {
+        this.warmupIterations = warmupIterations;
+        this.samples = samples;
+        this.allocatedBytesPerRun = allocatedBytesPerRun;
+
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+        minNanos = sorted[0];
+        medianNanos = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+        p95Nanos = sorted[(int) Math.ceil(0.95 * n) - 1]; // nearest rank
+
+        double sum = 0;
+        for (long s : sorted) sum += s;
+        meanNanos = sum / n;
+        double squares = 0;
+        for (long s : sorted) squares += (s - meanNanos) * (s - meanNanos);
+        stddevNanos = n > 1 ? Math.sqrt(squares / (n - 1)) : 0.0; // sample standard deviation
+    }
+
+    /**
+     * @param samples              wall time of every timed trial, at least one
+     * @param allocatedBytesPerRun mean bytes allocated per trial, or -1 if unknown
+     */
+    public static TimingStats of(int warmupIterations, long[] samples, long allocatedBytesPerRun) {
+        if (samples.length == 0) throw new IllegalArgumentException("At least one timed trial is required");
+        return new TimingStats(warmupIterations, samples.clone(), allocatedBytesPerRun);
+    }
+
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public int getTrials() {
+        return samples.length;
+    }
+
+    /** Raw trial times in run order. */
+    public long[] getSamples() {
+        return samples.clone();
+    }
+
+    public long getMinNanos() {
+        return minNanos;
+    }
+
+    public long getMedianNanos() {
+        return medianNanos;
+    }
+
+    public long getP95Nanos() {
+        return p95Nanos;
+    }
+
+    public double getMeanNanos() {
+        return meanNanos;
+    }
+
+    public double getStddevNanos() {
+        return stddevNanos;
+    }
+
+    public long getAllocatedBytesPerRun() {
+        return allocatedBytesPerRun;
+    }
+}
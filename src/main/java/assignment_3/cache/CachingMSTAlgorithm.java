@@ -0,0 +1,50 @@
+package assignment_3.cache;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.MSTAlgorithm;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Graph;
+
+/**
+ * Decorator that answers from an {@link MSTResultCache} when the same graph
+ * content was already solved by the same engine, and stores fresh results
+ * otherwise. Cached results carry the timings of the run that produced them
+ * and new Edge objects rather than the graph's own.
+ */
+public class CachingMSTAlgorithm implements MSTAlgorithm {
+
+    private final MSTAlgorithm delegate;
+    private final MSTResultCache cache;
+
+    public CachingMSTAlgorithm(MSTAlgorithm delegate, MSTResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public AlgorithmResult run(Graph graph) {
+        String hash = GraphHasher.hash(graph);
+        AlgorithmResult cached = cache.get(hash, getName());
+        if (cached != null) return cached;
+
+        AlgorithmResult result = delegate.run(graph);
+        cache.put(hash, getName(), result);
+        return result;
+    }
+
+    @Override
+    public AlgorithmResult run(CompactGraph graph) {
+        String hash = GraphHasher.hash(graph);
+        AlgorithmResult cached = cache.get(hash, getName());
+        if (cached != null) return cached;
+
+        AlgorithmResult result = delegate.run(graph);
+        cache.put(hash, getName(), result);
+        return result;
+    }
+}
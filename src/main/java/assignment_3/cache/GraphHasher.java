@@ -0,0 +1,79 @@
+package assignment_3.cache;
+
+import assignment_3.model.Edge;
+import assignment_3.model.EdgeList;
+import assignment_3.model.Graph;
+import assignment_3.model.Vertex;
+
+/**
+ * Fast 128-bit content hash of a graph: vertex ids in order, then every edge
+ * as (from id, to id, weight bits). Graph and CompactGraph forms of the same
+ * graph hash alike. Not cryptographic; two independent 64-bit lanes keep
+ * accidental collisions out of reach for cache keys.
+ */
+public final class GraphHasher {
+    private long h1 = 0x243F6A8885A308D3L;
+    private long h2 = 0x13198A2E03707344L;
+
+    private GraphHasher() {
+    }
+
+    /** Hex digest (32 characters) of a mutable graph. */
+    public static String hash(Graph graph) {
+        GraphHasher h = new GraphHasher();
+        h.add(graph.getVertices().size());
+        for (Vertex v : graph.getVertices()) h.add(v.getId());
+        h.add(graph.getEdges().size());
+        for (Edge e : graph.getEdges()) {
+            h.add(e.getFrom().getId());
+            h.add(e.getTo().getId());
+            h.add(Double.doubleToLongBits(e.getWeight()));
+        }
+        return h.digest();
+    }
+
+    /** Hex digest (32 characters) of any edge list, e.g. a CompactGraph. */
+    public static String hash(EdgeList graph) {
+        GraphHasher h = new GraphHasher();
+        int n = graph.getVertexCount();
+        h.add(n);
+        for (int v = 0; v < n; v++) h.add(graph.getVertexId(v));
+        int m = graph.getEdgeCount();
+        h.add(m);
+        for (int e = 0; e < m; e++) {
+            h.add(graph.getVertexId(graph.getEdgeFrom(e)));
+            h.add(graph.getVertexId(graph.getEdgeTo(e)));
+            h.add(Double.doubleToLongBits(graph.getEdgeWeight(e)));
+        }
+        return h.digest();
+    }
+
+    private void add(String s) {
+        int len = s.length();
+        add(len);
+        int i = 0;
+        for (; i + 4 <= len; i += 4) {
+            add((long) s.charAt(i) | (long) s.charAt(i + 1) << 16
+                    | (long) s.charAt(i + 2) << 32 | (long) s.charAt(i + 3) << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; i < len; i++, shift += 16) tail |= (long) s.charAt(i) << shift;
+        add(tail);
+    }
+
+    private void add(long x) {
+        h1 = Long.rotateLeft(h1 ^ mix(x), 27) * 0x9E3779B97F4A7C15L + 0x52DCE729L;
+        h2 = Long.rotateLeft(h2 ^ mix(x + 0x632BE59BD9B4E019L), 31) * 0xC2B2AE3D27D4EB4FL + 0x38495AB5L;
+    }
+
+    private String digest() {
+        return String.format("%016x%016x", mix(h1 ^ h2 >>> 17), mix(h2 ^ h1 >>> 13));
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
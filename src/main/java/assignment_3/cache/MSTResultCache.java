@@ -0,0 +1,263 @@
+package assignment_3.cache;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.TimingStats;
+import assignment_3.model.Edge;
+import assignment_3.model.Vertex;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Two-level store of MST results keyed by (graph content hash, algorithm).
+ *
+ * The memory level is an LRU map bounded by the estimated size of the cached
+ * results; evicted entries stay available on disk. The disk level is a
+ * directory with one JSON file per entry, written to a temporary file and
+ * moved into place so concurrent or interrupted runs never see half a file.
+ * Unreadable files are treated as misses.
+ *
+ * Thread-safe.
+ */
+public class MSTResultCache {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+    private static final long BYTES_PER_EDGE = 128; // Edge + two Vertex objects + ids
+
+    private final Path directory;
+    private final long maxMemoryBytes;
+    private final LinkedHashMap<String, AlgorithmResult> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final JsonFactory json = new JsonFactory();
+    private long memoryBytes;
+
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+
+    /**
+     * @param directory      disk store, created if missing; null for a memory-only cache
+     * @param maxMemoryBytes budget of the in-memory LRU level
+     */
+    public MSTResultCache(Path directory, long maxMemoryBytes) {
+        this.directory = directory;
+        this.maxMemoryBytes = maxMemoryBytes;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot create cache directory " + directory, ex);
+            }
+        }
+    }
+
+    /** Returns the cached result, or null on a miss. */
+    public AlgorithmResult get(String graphHash, String algorithm) {
+        String key = key(graphHash, algorithm);
+        synchronized (this) {
+            AlgorithmResult cached = memory.get(key);
+            if (cached != null) {
+                memoryHits++;
+                return cached;
+            }
+        }
+
+        AlgorithmResult stored = directory != null ? read(directory.resolve(key + ".json")) : null;
+        synchronized (this) {
+            if (stored == null) {
+                misses++;
+                return null;
+            }
+            diskHits++;
+            remember(key, stored);
+            return stored;
+        }
+    }
+
+    public void put(String graphHash, String algorithm, AlgorithmResult result) {
+        String key = key(graphHash, algorithm);
+        if (directory != null) write(directory.resolve(key + ".json"), result);
+        synchronized (this) {
+            remember(key, result);
+        }
+    }
+
+    public synchronized long getMemoryHits() {
+        return memoryHits;
+    }
+
+    public synchronized long getDiskHits() {
+        return diskHits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Estimated bytes currently held by the memory level. */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    // --- Memory level ---
+
+    private void remember(String key, AlgorithmResult result) {
+        AlgorithmResult previous = memory.put(key, result);
+        if (previous != null) memoryBytes -= estimateBytes(previous);
+        memoryBytes += estimateBytes(result);
+
+        // Evict least recently used entries, but always keep the newest one
+        Iterator<Map.Entry<String, AlgorithmResult>> it = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && memory.size() > 1) {
+            Map.Entry<String, AlgorithmResult> eldest = it.next();
+            memoryBytes -= estimateBytes(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    private static long estimateBytes(AlgorithmResult result) {
+        long samples = result.getTiming() != null ? 8L * result.getTiming().getTrials() : 0;
+        return ENTRY_OVERHEAD_BYTES + BYTES_PER_EDGE * result.getEdges().size() + samples;
+    }
+
+    private static String key(String graphHash, String algorithm) {
+        return algorithm.replaceAll("[^A-Za-z0-9_.-]", "_") + "-" + graphHash;
+    }
+
+    // --- Disk level ---
+
+    private void write(Path file, AlgorithmResult result) {
+        try {
+            Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (JsonGenerator gen = json.createGenerator(tmp.toFile(), JsonEncoding.UTF8)) {
+                gen.writeStartObject();
+                gen.writeNumberField("total_cost", result.getTotalCost());
+                gen.writeNumberField("execution_time_ms", result.getExecutionTimeMs());
+                gen.writeNumberField("operations", result.getOperationCount());
+                gen.writeNumberField("vertex_count", result.getVertexCount());
+                gen.writeNumberField("edge_count", result.getEdgeCount());
+                TimingStats timing = result.getTiming();
+                if (timing != null) {
+                    gen.writeObjectFieldStart("timing");
+                    gen.writeNumberField("warmup_iterations", timing.getWarmupIterations());
+                    gen.writeNumberField("allocated_bytes_per_run", timing.getAllocatedBytesPerRun());
+                    long[] samples = timing.getSamples();
+                    gen.writeFieldName("samples_ns");
+                    gen.writeArray(samples, 0, samples.length);
+                    gen.writeEndObject();
+                }
+                gen.writeArrayFieldStart("mst_edges");
+                for (Edge e : result.getEdges()) {
+                    gen.writeStartArray();
+                    gen.writeString(e.getFrom().getId());
+                    gen.writeString(e.getTo().getId());
+                    gen.writeNumber(e.getWeight());
+                    gen.writeEndArray();
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write cache entry " + file, ex);
+        }
+    }
+
+    private AlgorithmResult read(Path file) {
+        if (!Files.isRegularFile(file)) return null;
+        try (JsonParser parser = json.createParser(file.toFile())) {
+            double totalCost = 0;
+            long time = 0;
+            long operations = 0;
+            int vertexCount = 0;
+            int edgeCount = 0;
+            TimingStats timing = null;
+            List<Edge> edges = new ArrayList<>();
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "total_cost":
+                        totalCost = parser.getDoubleValue();
+                        break;
+                    case "execution_time_ms":
+                        time = parser.getLongValue();
+                        break;
+                    case "operations":
+                        operations = parser.getLongValue();
+                        break;
+                    case "vertex_count":
+                        vertexCount = parser.getIntValue();
+                        break;
+                    case "edge_count":
+                        edgeCount = parser.getIntValue();
+                        break;
+                    case "timing":
+                        timing = readTiming(parser);
+                        break;
+                    case "mst_edges":
+                        while (parser.nextToken() == JsonToken.START_ARRAY) {
+                            parser.nextToken();
+                            Vertex from = new Vertex(parser.getText());
+                            parser.nextToken();
+                            Vertex to = new Vertex(parser.getText());
+                            parser.nextToken();
+                            edges.add(new Edge(from, to, parser.getDoubleValue()));
+                            parser.nextToken(); // END_ARRAY
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            AlgorithmResult result = new AlgorithmResult(totalCost, time, operations, vertexCount, edgeCount, edges);
+            return timing != null ? result.withTiming(timing) : result;
+        } catch (IOException | RuntimeException ex) {
+            return null; // corrupt or foreign file: recompute and overwrite
+        }
+    }
+
+    private static TimingStats readTiming(JsonParser parser) throws IOException {
+        int warmup = 0;
+        long allocated = -1;
+        long[] samples = new long[0];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "warmup_iterations":
+                    warmup = parser.getIntValue();
+                    break;
+                case "allocated_bytes_per_run":
+                    allocated = parser.getLongValue();
+                    break;
+                case "samples_ns":
+                    List<Long> values = new ArrayList<>();
+                    while (parser.nextToken() != JsonToken.END_ARRAY) values.add(parser.getLongValue());
+                    samples = values.stream().mapToLong(Long::longValue).toArray();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return TimingStats.of(warmup, samples, allocated);
+    }
+}
@@ -0,0 +1,53 @@
+package assignment_3.io;
+
+import assignment_3.model.EdgeList;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the ".mstg" binary graph file. All numbers are little-endian.
+ *
+ * <pre>
+ * file    := MAGIC:int VERSION:int graphCount:int section*
+ * section := name:str flags:int vertexCount:int edgeCount:int
+ *            vertexId:str * vertexCount
+ *            (pad to 8) from:int[edgeCount] to:int[edgeCount]
+ *            (pad to 8) weight:(float|double)[edgeCount]
+ * str     := byteLength:int utf8:byte[byteLength]
+ * </pre>
+ *
+ * The edge arrays are aligned so they can be memory-mapped and read in
+ * place as int/float/double buffers.
+ */
+public final class BinaryGraphFormat {
+
+    public static final int MAGIC = 0x4D535447; // "MSTG"
+    public static final int VERSION = 1;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /** Header bytes before the first section; graphCount sits at offset 8. */
+    static final int HEADER_BYTES = 12;
+    static final int GRAPH_COUNT_OFFSET = 8;
+
+    /** Set when weights are stored as 4-byte floats instead of 8-byte doubles. */
+    public static final int FLAG_FLOAT_WEIGHTS = 1;
+
+    private BinaryGraphFormat() {
+    }
+
+    static long align8(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    static int weightBytes(int flags) {
+        return (flags & FLAG_FLOAT_WEIGHTS) != 0 ? Float.BYTES : Double.BYTES;
+    }
+
+    /** True when every weight survives a round trip through float unchanged. */
+    public static boolean fitsFloat(EdgeList edges) {
+        for (int e = 0; e < edges.getEdgeCount(); e++) {
+            double w = edges.getEdgeWeight(e);
+            if ((double) (float) w != w) return false;
+        }
+        return true;
+    }
+}
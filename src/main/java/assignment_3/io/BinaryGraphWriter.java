@@ -0,0 +1,255 @@
+package assignment_3.io;
+
+import assignment_3.model.EdgeList;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Writes graphs in the {@link BinaryGraphFormat} layout.
+ *
+ * Sections are written one at a time. Edge counts are fixed when a section
+ * starts, so edges can be streamed through {@link EdgeRangeWriter}s without
+ * keeping them in memory. Each range writer owns its buffers and writes at
+ * absolute file positions, so disjoint ranges may be filled from different
+ * threads.
+ */
+public class BinaryGraphWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private long position;
+    private int graphCount;
+    private Section open;
+
+    public BinaryGraphWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(BinaryGraphFormat.HEADER_BYTES).order(BinaryGraphFormat.BYTE_ORDER);
+        header.putInt(BinaryGraphFormat.MAGIC).putInt(BinaryGraphFormat.VERSION).putInt(0).flip();
+        writeFully(header, 0);
+        position = BinaryGraphFormat.HEADER_BYTES;
+    }
+
+    /** Writes a complete in-memory graph as one section. */
+    public void write(String name, EdgeList graph, boolean floatWeights) throws IOException {
+        Section section = beginGraph(name, graph.getVertexCount(), graph::getVertexId,
+                graph.getEdgeCount(), floatWeights);
+        try (EdgeRangeWriter edges = section.openRange(0)) {
+            for (int e = 0; e < graph.getEdgeCount(); e++) {
+                edges.addEdge(graph.getEdgeFrom(e), graph.getEdgeTo(e), graph.getEdgeWeight(e));
+            }
+        }
+        section.finish();
+    }
+
+    /**
+     * Starts a section: writes its header and vertex table and reserves room
+     * for exactly edgeCount edges.
+     */
+    public Section beginGraph(String name, int vertexCount, IntFunction<String> vertexId,
+                              int edgeCount, boolean floatWeights) throws IOException {
+        if (open != null) throw new IllegalStateException("Previous graph section was not finished");
+        int flags = floatWeights ? BinaryGraphFormat.FLAG_FLOAT_WEIGHTS : 0;
+
+        try (BufferedOut out = new BufferedOut(position)) {
+            out.putString(name == null ? "" : name);
+            out.putInt(flags);
+            out.putInt(vertexCount);
+            out.putInt(edgeCount);
+            for (int v = 0; v < vertexCount; v++) {
+                out.putString(vertexId.apply(v));
+            }
+            position = out.position();
+        }
+
+        long fromAt = BinaryGraphFormat.align8(position);
+        long toAt = fromAt + (long) edgeCount * Integer.BYTES;
+        long weightAt = BinaryGraphFormat.align8(toAt + (long) edgeCount * Integer.BYTES);
+        long end = weightAt + (long) edgeCount * BinaryGraphFormat.weightBytes(flags);
+        open = new Section(vertexCount, edgeCount, floatWeights, fromAt, toAt, weightAt, end);
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (open != null) throw new IllegalStateException("Graph section was not finished");
+            ByteBuffer count = ByteBuffer.allocate(Integer.BYTES).order(BinaryGraphFormat.BYTE_ORDER);
+            count.putInt(graphCount).flip();
+            writeFully(count, BinaryGraphFormat.GRAPH_COUNT_OFFSET);
+            channel.truncate(position);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long at) throws IOException {
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+
+    // --- Sections ---
+
+    /** An open graph section whose edge arrays are being filled. */
+    public class Section {
+        private final int vertexCount;
+        private final int edgeCount;
+        private final boolean floatWeights;
+        private final long fromAt;
+        private final long toAt;
+        private final long weightAt;
+        private final long end;
+        private final AtomicLong written = new AtomicLong(); // edges flushed by all range writers
+
+        private Section(int vertexCount, int edgeCount, boolean floatWeights,
+                        long fromAt, long toAt, long weightAt, long end) {
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.floatWeights = floatWeights;
+            this.fromAt = fromAt;
+            this.toAt = toAt;
+            this.weightAt = weightAt;
+            this.end = end;
+        }
+
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        /** Opens a writer for edges firstEdge, firstEdge + 1, ... of this section. */
+        public EdgeRangeWriter openRange(int firstEdge) {
+            return new EdgeRangeWriter(this, firstEdge);
+        }
+
+        /**
+         * Completes the section. Callers must have written all edgeCount edges;
+         * unwritten slots would read back as zeros.
+         */
+        public void finish() throws IOException {
+            if (open != this) throw new IllegalStateException("Section is not open");
+            if (written.get() < edgeCount) {
+                throw new IllegalStateException("Section is missing edges: " + written.get() + " of " + edgeCount);
+            }
+            if (channel.size() < end) {
+                // Alignment padding after the last array (or an empty section) was never written
+                writeFully(ByteBuffer.allocate(1), end - 1);
+            }
+            position = end;
+            graphCount++;
+            open = null;
+        }
+    }
+
+    /** Buffered, single-thread writer for a contiguous range of one section's edges. */
+    public class EdgeRangeWriter implements Closeable {
+        private final Section section;
+        private final ByteBuffer from;
+        private final ByteBuffer to;
+        private final ByteBuffer weight;
+        private final int weightBytes;
+        private int flushedUpTo; // absolute edge index already on disk
+        private int next;        // absolute edge index of the next edge
+
+        private EdgeRangeWriter(Section section, int firstEdge) {
+            this.section = section;
+            this.weightBytes = section.floatWeights ? Float.BYTES : Double.BYTES;
+            this.from = ByteBuffer.allocate(BUFFER_BYTES).order(BinaryGraphFormat.BYTE_ORDER);
+            this.to = ByteBuffer.allocate(BUFFER_BYTES).order(BinaryGraphFormat.BYTE_ORDER);
+            this.weight = ByteBuffer.allocate(BUFFER_BYTES / Integer.BYTES * weightBytes)
+                    .order(BinaryGraphFormat.BYTE_ORDER);
+            this.flushedUpTo = firstEdge;
+            this.next = firstEdge;
+        }
+
+        public void addEdge(int u, int v, double w) throws IOException {
+            if (next >= section.edgeCount) {
+                throw new IllegalStateException("Section holds only " + section.edgeCount + " edges");
+            }
+            if (u < 0 || u >= section.vertexCount || v < 0 || v >= section.vertexCount) {
+                throw new IllegalArgumentException("Unknown vertex id in edge " + u + " -- " + v);
+            }
+            from.putInt(u);
+            to.putInt(v);
+            if (section.floatWeights) weight.putFloat((float) w);
+            else weight.putDouble(w);
+            next++;
+            if (!from.hasRemaining()) flush();
+        }
+
+        private void flush() throws IOException {
+            from.flip();
+            to.flip();
+            weight.flip();
+            writeFully(from, section.fromAt + (long) flushedUpTo * Integer.BYTES);
+            writeFully(to, section.toAt + (long) flushedUpTo * Integer.BYTES);
+            writeFully(weight, section.weightAt + (long) flushedUpTo * weightBytes);
+            from.clear();
+            to.clear();
+            weight.clear();
+            section.written.addAndGet(next - flushedUpTo);
+            flushedUpTo = next;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /** Sequential buffered output starting at a file position (section headers). */
+    private class BufferedOut implements Closeable {
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(BinaryGraphFormat.BYTE_ORDER);
+        private long at;
+
+        BufferedOut(long at) {
+            this.at = at;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        long position() {
+            return at + buffer.position();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            int written = buffer.remaining();
+            writeFully(buffer, at);
+            at += written;
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+        }
+    }
+}
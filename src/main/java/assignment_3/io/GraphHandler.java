@@ -0,0 +1,19 @@
+package assignment_3.io;
+
+/**
+ * Receives one graph entry at a time from a streaming loader.
+ *
+ * Callbacks arrive in document order. Because the "name" field may appear
+ * anywhere inside a graph object, the name is handed over only when the
+ * entry is complete.
+ */
+public interface GraphHandler {
+
+    void beginGraph();
+
+    void vertex(String id);
+
+    void edge(String from, String to, double weight);
+
+    void endGraph(String name);
+}
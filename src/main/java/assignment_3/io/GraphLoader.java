@@ -1,40 +1,24 @@
 package assignment_3.io;
 
 import assignment_3.model.Graph;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class GraphLoader {
 
-    private final ObjectMapper mapper = new ObjectMapper();
-
+    /**
+     * Loads every graph of a file into memory. Parsing is streamed through
+     * {@link StreamingGraphLoader}, so no JSON tree is built; use that class
+     * directly to process one graph at a time.
+     */
     public List<NamedGraph> loadGraphs(String filePath) throws IOException {
-        JsonNode root = mapper.readTree(new File(filePath));
-        JsonNode graphsNode = root.get("graphs");
         List<NamedGraph> graphs = new ArrayList<>();
-
-        for (JsonNode g : graphsNode) {
-            String name = g.get("name").asText();
-            Graph graph = new Graph();
-
-            // Add vertices
-            for (JsonNode vertexNode : g.get("vertices")) {
-                graph.addVertex(vertexNode.asText());
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(filePath)) {
+            NamedGraph g;
+            while ((g = loader.nextGraph()) != null) {
+                graphs.add(g);
             }
-
-            // Add edges
-            for (JsonNode edgeNode : g.get("edges")) {
-                String from = edgeNode.get("from").asText();
-                String to = edgeNode.get("to").asText();
-                double weight = edgeNode.get("weight").asDouble();
-                graph.addEdge(from, to, weight);
-            }
-
-            graphs.add(new NamedGraph(name, graph));
         }
         return graphs;
     }
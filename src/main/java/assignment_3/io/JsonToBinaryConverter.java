@@ -0,0 +1,41 @@
+package assignment_3.io;
+
+import assignment_3.io.StreamingGraphLoader.NamedCompactGraph;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Converts a JSON input file ({"graphs": [...]}, see {@link GraphData}) into
+ * the {@link BinaryGraphFormat}. Graphs are streamed one at a time; weights
+ * are stored as floats whenever that is lossless.
+ *
+ * Usage: JsonToBinaryConverter input.json output.mstg
+ */
+public class JsonToBinaryConverter {
+
+    /** Returns the number of graphs converted. */
+    public static int convert(String jsonPath, Path binaryPath) throws IOException {
+        int count = 0;
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(jsonPath);
+             BinaryGraphWriter writer = new BinaryGraphWriter(binaryPath)) {
+            NamedCompactGraph g;
+            while ((g = loader.nextCompactGraph()) != null) {
+                writer.write(g.getName(), g.getGraph(), BinaryGraphFormat.fitsFloat(g.getGraph()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: JsonToBinaryConverter <input.json> <output.mstg>");
+            System.exit(2);
+        }
+        long start = System.currentTimeMillis();
+        int graphs = convert(args[0], Paths.get(args[1]));
+        System.out.println("Converted " + graphs + " graph(s) from " + args[0] + " to " + args[1]
+                + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
@@ -0,0 +1,243 @@
+package assignment_3.io;
+
+import assignment_3.model.CompactGraph;
+import assignment_3.model.EdgeList;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only view of a {@link BinaryGraphFormat} file through
+ * {@link FileChannel#map}.
+ *
+ * Vertex names are decoded onto the heap (O(V)); the edge arrays stay in the
+ * page cache and are read in place, so opening a file costs milliseconds
+ * regardless of edge count. Arrays are mapped in windows of at most 2^27
+ * elements to stay under the 2 GB limit of a single mapping.
+ */
+public class MappedGraphFile implements Closeable {
+
+    private static final int WINDOW_SHIFT = 27;
+    private static final int WINDOW_MASK = (1 << WINDOW_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final List<MappedGraph> graphs;
+
+    private MappedGraphFile(FileChannel channel, List<MappedGraph> graphs) {
+        this.channel = channel;
+        this.graphs = graphs;
+    }
+
+    public static MappedGraphFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            Reader reader = new Reader(channel);
+            if (reader.getInt() != BinaryGraphFormat.MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            int version = reader.getInt();
+            if (version != BinaryGraphFormat.VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + " in " + path);
+            }
+            int graphCount = reader.getInt();
+
+            List<MappedGraph> graphs = new ArrayList<>(graphCount);
+            for (int g = 0; g < graphCount; g++) {
+                graphs.add(readSection(channel, reader));
+            }
+            return new MappedGraphFile(channel, Collections.unmodifiableList(graphs));
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public List<MappedGraph> getGraphs() {
+        return graphs;
+    }
+
+    /**
+     * Closes the channel. Mappings stay valid until garbage collected, but
+     * graphs from a closed file should not be used any more.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static MappedGraph readSection(FileChannel channel, Reader reader) throws IOException {
+        String name = reader.getString();
+        int flags = reader.getInt();
+        int vertexCount = reader.getInt();
+        int edgeCount = reader.getInt();
+        String[] vertexIds = new String[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            vertexIds[v] = reader.getString();
+        }
+
+        long fromAt = BinaryGraphFormat.align8(reader.position());
+        long toAt = fromAt + (long) edgeCount * Integer.BYTES;
+        long weightAt = BinaryGraphFormat.align8(toAt + (long) edgeCount * Integer.BYTES);
+        int weightBytes = BinaryGraphFormat.weightBytes(flags);
+        long end = weightAt + (long) edgeCount * weightBytes;
+        if (end > channel.size()) {
+            throw new IOException("Truncated binary graph section \"" + name + "\"");
+        }
+
+        int windows = (int) (((long) edgeCount + WINDOW_MASK) >>> WINDOW_SHIFT);
+        IntBuffer[] from = new IntBuffer[windows];
+        IntBuffer[] to = new IntBuffer[windows];
+        DoubleBuffer[] doubles = (flags & BinaryGraphFormat.FLAG_FLOAT_WEIGHTS) == 0 ? new DoubleBuffer[windows] : null;
+        FloatBuffer[] floats = doubles == null ? new FloatBuffer[windows] : null;
+        for (int w = 0; w < windows; w++) {
+            long first = (long) w << WINDOW_SHIFT;
+            int count = (int) Math.min(1L << WINDOW_SHIFT, edgeCount - first);
+            from[w] = map(channel, fromAt + first * Integer.BYTES, count * (long) Integer.BYTES).asIntBuffer();
+            to[w] = map(channel, toAt + first * Integer.BYTES, count * (long) Integer.BYTES).asIntBuffer();
+            MappedByteBuffer weights = map(channel, weightAt + first * weightBytes, count * (long) weightBytes);
+            if (doubles != null) doubles[w] = weights.asDoubleBuffer();
+            else floats[w] = weights.asFloatBuffer();
+        }
+
+        reader.seek(end);
+        return new MappedGraph(name, vertexIds, edgeCount, from, to, doubles, floats);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long at, long bytes) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, at, bytes);
+        buffer.order(BinaryGraphFormat.BYTE_ORDER);
+        return buffer;
+    }
+
+    /** One graph section, read in place from the mapping. */
+    public static final class MappedGraph implements EdgeList {
+        private final String name;
+        private final String[] vertexIds;
+        private final int edgeCount;
+        private final IntBuffer[] from;
+        private final IntBuffer[] to;
+        private final DoubleBuffer[] doubleWeights; // null when stored as floats
+        private final FloatBuffer[] floatWeights;
+
+        private MappedGraph(String name, String[] vertexIds, int edgeCount, IntBuffer[] from, IntBuffer[] to,
+                            DoubleBuffer[] doubleWeights, FloatBuffer[] floatWeights) {
+            this.name = name;
+            this.vertexIds = vertexIds;
+            this.edgeCount = edgeCount;
+            this.from = from;
+            this.to = to;
+            this.doubleWeights = doubleWeights;
+            this.floatWeights = floatWeights;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getVertexCount() {
+            return vertexIds.length;
+        }
+
+        @Override
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        @Override
+        public String getVertexId(int v) {
+            return vertexIds[v];
+        }
+
+        @Override
+        public int getEdgeFrom(int e) {
+            return from[e >>> WINDOW_SHIFT].get(e & WINDOW_MASK);
+        }
+
+        @Override
+        public int getEdgeTo(int e) {
+            return to[e >>> WINDOW_SHIFT].get(e & WINDOW_MASK);
+        }
+
+        @Override
+        public double getEdgeWeight(int e) {
+            return doubleWeights != null
+                    ? doubleWeights[e >>> WINDOW_SHIFT].get(e & WINDOW_MASK)
+                    : floatWeights[e >>> WINDOW_SHIFT].get(e & WINDOW_MASK);
+        }
+
+        /** Copies the section onto the heap in CSR form, e.g. for the adjacency-based Prim engines. */
+        public CompactGraph toCompactGraph() {
+            return CompactGraph.copyOf(this);
+        }
+
+        @Override
+        public String toString() {
+            return "MappedGraph[" + name + ", V=" + getVertexCount() + ", E=" + edgeCount + "]";
+        }
+    }
+
+    /** Small positional reader for the variable-length header parts. */
+    private static final class Reader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(BinaryGraphFormat.BYTE_ORDER);
+        private long bufferStart;
+
+        Reader(FileChannel channel) {
+            this.channel = channel;
+            buffer.limit(0);
+        }
+
+        long position() {
+            return bufferStart + buffer.position();
+        }
+
+        void seek(long at) {
+            bufferStart = at;
+            buffer.clear().limit(0);
+        }
+
+        int getInt() throws IOException {
+            require(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        String getString() throws IOException {
+            int length = getInt();
+            if (length < 0) throw new IOException("Corrupt string length " + length);
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                require(1);
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return;
+            long at = position();
+            buffer.compact();
+            bufferStart = at;
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer, bufferStart + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of binary graph file");
+                }
+            }
+            buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package assignment_3.io;
+
+import assignment_3.io.GraphLoader.NamedGraph;
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Graph;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Token-level reader for the {"graphs": [...]} input schema.
+ *
+ * Graph entries are parsed one at a time straight into a {@link GraphHandler}
+ * without building a JSON tree, so memory overhead stays constant apart from
+ * the graph being built. Fields may appear in any order; unknown fields are
+ * skipped.
+ */
+public class StreamingGraphLoader implements Closeable {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private boolean inGraphs;
+    private boolean finished;
+
+    public StreamingGraphLoader(String filePath) throws IOException {
+        this(FACTORY.createParser(new File(filePath)));
+    }
+
+    /** Reads the same schema from a stream (e.g. a request body); closing the loader closes the stream. */
+    public StreamingGraphLoader(InputStream in) throws IOException {
+        this(FACTORY.createParser(in));
+    }
+
+    private StreamingGraphLoader(JsonParser parser) throws IOException {
+        this.parser = parser;
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object at the document root");
+        }
+    }
+
+    /**
+     * Streams the next graph entry into the handler.
+     *
+     * @return false once every entry of the "graphs" array has been read
+     */
+    public boolean next(GraphHandler handler) throws IOException {
+        if (finished) return false;
+        if (!inGraphs && !seekGraphsArray()) {
+            finished = true;
+            return false;
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            finished = true;
+            return false;
+        }
+        expect(token, JsonToken.START_OBJECT, "graph entry");
+        readGraph(handler);
+        return true;
+    }
+
+    /** Reads the next entry into a mutable {@link Graph}, or returns null at the end. */
+    public NamedGraph nextGraph() throws IOException {
+        GraphBuilderHandler handler = new GraphBuilderHandler();
+        return next(handler) ? new NamedGraph(handler.name, handler.graph) : null;
+    }
+
+    /** Reads the next entry straight into CSR form, or returns null at the end. */
+    public NamedCompactGraph nextCompactGraph() throws IOException {
+        CompactBuilderHandler handler = new CompactBuilderHandler();
+        return next(handler) ? new NamedCompactGraph(handler.name, handler.builder.build()) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    // --- Parsing ---
+
+    /** Advances through root fields until the start of "graphs"; false if the root has none. */
+    private boolean seekGraphsArray() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("graphs".equals(field)) {
+                expect(value, JsonToken.START_ARRAY, "\"graphs\"");
+                inGraphs = true;
+                return true;
+            }
+            parser.skipChildren();
+        }
+        expect(token, JsonToken.END_OBJECT, "end of document root");
+        return false;
+    }
+
+    private void readGraph(GraphHandler handler) throws IOException {
+        PhaseEvent phase = PhaseEvent.begin("StreamingGraphLoader", PhaseEvent.LOAD);
+        long vertices = 0;
+        long edges = 0;
+        handler.beginGraph();
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "name":
+                    name = parser.getValueAsString();
+                    break;
+                case "vertices":
+                    expect(value, JsonToken.START_ARRAY, "\"vertices\"");
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        handler.vertex(parser.getValueAsString());
+                        vertices++;
+                    }
+                    break;
+                case "edges":
+                    expect(value, JsonToken.START_ARRAY, "\"edges\"");
+                    while ((value = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        expect(value, JsonToken.START_OBJECT, "edge");
+                        readEdge(handler);
+                        edges++;
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        handler.endGraph(name);
+        phase.finish(vertices, edges);
+    }
+
+    private void readEdge(GraphHandler handler) throws IOException {
+        String from = null;
+        String to = null;
+        double weight = 0.0;
+        boolean weighted = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "from":
+                    from = parser.getValueAsString();
+                    break;
+                case "to":
+                    to = parser.getValueAsString();
+                    break;
+                case "weight":
+                    weight = parser.getValueAsDouble();
+                    weighted = true;
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (from == null || to == null) {
+            throw new JsonParseException(parser, "Edge is missing \"from\" or \"to\"");
+        }
+        if (!weighted) {
+            throw new JsonParseException(parser, "Edge is missing \"weight\"");
+        }
+        handler.edge(from, to, weight);
+    }
+
+    private void expect(JsonToken actual, JsonToken expected, String what) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " for " + what + " but found " + actual);
+        }
+    }
+
+    // --- Built-in handlers ---
+
+    private static class GraphBuilderHandler implements GraphHandler {
+        private Graph graph;
+        private String name;
+
+        @Override
+        public void beginGraph() {
+            graph = new Graph();
+        }
+
+        @Override
+        public void vertex(String id) {
+            graph.addVertex(id);
+        }
+
+        @Override
+        public void edge(String from, String to, double weight) {
+            graph.addEdge(from, to, weight);
+        }
+
+        @Override
+        public void endGraph(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class CompactBuilderHandler implements GraphHandler {
+        private CompactGraph.Builder builder;
+        private String name;
+
+        @Override
+        public void beginGraph() {
+            builder = new CompactGraph.Builder();
+        }
+
+        @Override
+        public void vertex(String id) {
+            builder.addVertex(id);
+        }
+
+        @Override
+        public void edge(String from, String to, double weight) {
+            builder.addEdge(from, to, weight);
+        }
+
+        @Override
+        public void endGraph(String name) {
+            this.name = name;
+        }
+    }
+
+    // Helper record to store name + CompactGraph together
+    public static class NamedCompactGraph {
+        private final String name;
+        private final CompactGraph graph;
+
+        public NamedCompactGraph(String name, CompactGraph graph) {
+            this.name = name;
+            this.graph = graph;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public CompactGraph getGraph() {
+            return graph;
+        }
+    }
+}
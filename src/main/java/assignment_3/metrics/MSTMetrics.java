@@ -0,0 +1,126 @@
+package assignment_3.metrics;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-run operation counters of the MST engines, kept apart so they can be
+ * compared across engines (the single "operations" number mixes them all).
+ *
+ * Counting is switched on with {@code -Dmst.metrics=true}. Every call site is
+ * written as {@code if (MSTMetrics.ENABLED) metrics.x();}; since the flag is a
+ * static final constant, the JIT drops those branches entirely when it is
+ * off and {@link #create()} returns null.
+ *
+ * Instances are not thread-safe, so work done on pool threads is not
+ * counted: BoruvkaAlgorithm reports no metrics at all (only
+ * {@link PhaseEvent}s), and FilterKruskalAlgorithm counts its sequential
+ * finds and unions but not its parallel partition and filter passes.
+ */
+public final class MSTMetrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("mst.metrics");
+
+    private long comparisons;
+    private long heapPushes;
+    private long heapPops;
+    private long stalePops;
+    private long decreaseKeys;
+    private long finds;
+    private long unions;
+    private long compressionSteps;
+
+    /** A fresh counter set, or null when metrics are disabled. */
+    public static MSTMetrics create() {
+        return ENABLED ? new MSTMetrics() : null;
+    }
+
+    public void comparison() {
+        comparisons++;
+    }
+
+    public void heapPush() {
+        heapPushes++;
+    }
+
+    public void heapPop() {
+        heapPops++;
+    }
+
+    /** A popped entry that was already out of date (lazy deletion). */
+    public void stalePop() {
+        stalePops++;
+    }
+
+    public void decreaseKey() {
+        decreaseKeys++;
+    }
+
+    public void find() {
+        finds++;
+    }
+
+    public void union() {
+        unions++;
+    }
+
+    /** One parent pointer rewritten while shortening a find path. */
+    public void compressionStep() {
+        compressionSteps++;
+    }
+
+    /** Wraps a comparator so every call counts as one comparison. */
+    public <T> Comparator<T> counting(Comparator<T> comparator) {
+        return (a, b) -> {
+            comparisons++;
+            return comparator.compare(a, b);
+        };
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public long getHeapPushes() {
+        return heapPushes;
+    }
+
+    public long getHeapPops() {
+        return heapPops;
+    }
+
+    public long getStalePops() {
+        return stalePops;
+    }
+
+    public long getDecreaseKeys() {
+        return decreaseKeys;
+    }
+
+    public long getFinds() {
+        return finds;
+    }
+
+    public long getUnions() {
+        return unions;
+    }
+
+    public long getCompressionSteps() {
+        return compressionSteps;
+    }
+
+    /** Counters by output name, in a fixed order. */
+    public Map<String, Long> toMap() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        map.put("comparisons", comparisons);
+        map.put("heap_pushes", heapPushes);
+        map.put("heap_pops", heapPops);
+        map.put("stale_pops", stalePops);
+        map.put("decrease_keys", decreaseKeys);
+        map.put("finds", finds);
+        map.put("unions", unions);
+        map.put("compression_steps", compressionSteps);
+        return map;
+    }
+}
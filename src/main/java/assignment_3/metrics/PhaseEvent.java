@@ -0,0 +1,63 @@
+package assignment_3.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event covering one phase of loading or solving a graph
+ * (load, sort, main-loop, components). Recorded only while a recording has the event
+ * enabled, e.g. {@code -XX:StartFlightRecording:settings=profile}; otherwise
+ * begin/commit are near no-ops.
+ *
+ * <pre>
+ *   PhaseEvent event = PhaseEvent.begin("Kruskal", PhaseEvent.SORT);
+ *   ...
+ *   event.finish(vertices, edges);
+ * </pre>
+ */
+@Name("assignment_3.MSTPhase")
+@Label("MST Phase")
+@Category({"Assignment 3", "MST"})
+@Description("Duration of one phase of graph loading or MST computation")
+@StackTrace(false)
+public class PhaseEvent extends Event {
+
+    public static final String LOAD = "load";
+    public static final String SORT = "sort";
+    public static final String MAIN_LOOP = "main-loop";
+    public static final String COMPONENTS = "components";
+
+    @Label("Component")
+    private String component;
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Vertices")
+    private long vertices;
+
+    @Label("Edges")
+    private long edges;
+
+    public static PhaseEvent begin(String component, String phase) {
+        PhaseEvent event = new PhaseEvent();
+        event.component = component;
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /** Ends the phase and commits it if the recording wants it. */
+    public void finish(long vertices, long edges) {
+        end();
+        if (shouldCommit()) {
+            this.vertices = vertices;
+            this.edges = edges;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package assignment_3.model;
+
+/**
+ * {@link EdgeList} that also exposes a compressed-sparse-row adjacency:
+ * every undirected edge appears once per endpoint, and the adjacency of
+ * vertex v occupies slots adjacencyStart(v) .. adjacencyEnd(v) - 1.
+ * Implemented by the in-heap {@link CompactGraph} and the off-heap
+ * {@link OffHeapEdgeStore}, so the vertex-centric engines can walk either.
+ */
+public interface AdjacencyList extends EdgeList {
+
+    /** First adjacency slot of vertex v. */
+    int adjacencyStart(int v);
+
+    /** One past the last adjacency slot of vertex v. */
+    int adjacencyEnd(int v);
+
+    int getTarget(int slot);
+
+    double getWeight(int slot);
+
+    /** Original edge index of an adjacency slot. */
+    int getEdgeId(int slot);
+}
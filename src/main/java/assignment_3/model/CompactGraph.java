@@ -0,0 +1,263 @@
+package assignment_3.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Frozen, primitive-backed undirected graph in compressed-sparse-row form.
+ *
+ * Vertices are interned to dense int ids 0..V-1. Every undirected edge keeps
+ * its original index 0..E-1 in the edge arrays and appears twice in the
+ * adjacency arrays (once per endpoint). The adjacency of vertex v occupies
+ * slots offsets[v] .. offsets[v + 1] - 1.
+ */
+public final class CompactGraph implements AdjacencyList {
+    // --- Vertex id table ---
+    private final String[] vertexIds;
+    private final Map<String, Integer> indexOf;
+
+    // --- Edge list (original order, one entry per undirected edge) ---
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final double[] edgeWeight;
+
+    // --- CSR adjacency (two slots per undirected edge) ---
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] edgeIds;
+
+    private CompactGraph(String[] vertexIds, Map<String, Integer> indexOf,
+                         int[] edgeFrom, int[] edgeTo, double[] edgeWeight) {
+        this.vertexIds = vertexIds;
+        this.indexOf = indexOf;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+
+        int n = vertexIds.length;
+        int m = edgeFrom.length;
+
+        // Counting pass: degree of every vertex, then prefix sums
+        offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            offsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        // Scatter pass: both directions of every edge
+        targets = new int[2 * m];
+        weights = new double[2 * m];
+        edgeIds = new int[2 * m];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            int s = next[u]++;
+            targets[s] = v;
+            weights[s] = edgeWeight[e];
+            edgeIds[s] = e;
+            s = next[v]++;
+            targets[s] = u;
+            weights[s] = edgeWeight[e];
+            edgeIds[s] = e;
+        }
+    }
+
+    /** Freezes a mutable {@link Graph} into CSR form, keeping its vertex and edge order. */
+    public static CompactGraph from(Graph graph) {
+        Builder builder = new Builder(graph.getVertices().size(), graph.getEdges().size());
+        for (Vertex v : graph.getVertices()) {
+            builder.addVertex(v.getId());
+        }
+        for (Edge e : graph.getEdges()) {
+            builder.addEdge(e.getFrom().getId(), e.getTo().getId(), e.getWeight());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copies any edge list (e.g. a memory-mapped one) into CSR form. Vertex
+     * ids are kept as they are, so the names must be unique.
+     */
+    public static CompactGraph copyOf(EdgeList edges) {
+        int n = edges.getVertexCount();
+        int m = edges.getEdgeCount();
+        String[] ids = new String[n];
+        Map<String, Integer> index = new HashMap<>(Math.max(16, n * 2));
+        for (int v = 0; v < n; v++) {
+            ids[v] = edges.getVertexId(v);
+            if (index.put(ids[v], v) != null) {
+                throw new IllegalArgumentException("Duplicate vertex id: " + ids[v]);
+            }
+        }
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] weight = new double[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = edges.getEdgeFrom(e);
+            to[e] = edges.getEdgeTo(e);
+            weight[e] = edges.getEdgeWeight(e);
+        }
+        return new CompactGraph(ids, index, from, to, weight);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexIds.length;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeFrom.length;
+    }
+
+    @Override
+    public String getVertexId(int v) {
+        return vertexIds[v];
+    }
+
+    /** Returns the interned id of a vertex name, or -1 if the graph does not contain it. */
+    public int indexOf(String id) {
+        Integer index = indexOf.get(id);
+        return index == null ? -1 : index;
+    }
+
+    // --- Edge list accessors ---
+
+    @Override
+    public int getEdgeFrom(int e) {
+        return edgeFrom[e];
+    }
+
+    @Override
+    public int getEdgeTo(int e) {
+        return edgeTo[e];
+    }
+
+    @Override
+    public double getEdgeWeight(int e) {
+        return edgeWeight[e];
+    }
+
+    // --- Adjacency accessors ---
+
+    @Override
+    public int adjacencyStart(int v) {
+        return offsets[v];
+    }
+
+    @Override
+    public int adjacencyEnd(int v) {
+        return offsets[v + 1];
+    }
+
+    @Override
+    public int getTarget(int slot) {
+        return targets[slot];
+    }
+
+    @Override
+    public double getWeight(int slot) {
+        return weights[slot];
+    }
+
+    @Override
+    public int getEdgeId(int slot) {
+        return edgeIds[slot];
+    }
+
+    @Override
+    public Edge toEdge(int e) {
+        return new Edge(new Vertex(vertexIds[edgeFrom[e]]), new Vertex(vertexIds[edgeTo[e]]), edgeWeight[e]);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactGraph[V=" + getVertexCount() + ", E=" + getEdgeCount() + "]";
+    }
+
+    /**
+     * Accumulates vertices and edges into growable primitive arrays, interning
+     * vertex names on the fly. Edges may reference vertices that were never
+     * added explicitly, mirroring {@link Graph#addEdge}.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> indexOf;
+        private String[] vertexIds;
+        private int vertexCount;
+
+        private int[] from;
+        private int[] to;
+        private double[] weight;
+        private int edgeCount;
+
+        public Builder() {
+            this(16, 16);
+        }
+
+        public Builder(int expectedVertices, int expectedEdges) {
+            indexOf = new HashMap<>(Math.max(16, expectedVertices * 2));
+            vertexIds = new String[Math.max(1, expectedVertices)];
+            from = new int[Math.max(1, expectedEdges)];
+            to = new int[Math.max(1, expectedEdges)];
+            weight = new double[Math.max(1, expectedEdges)];
+        }
+
+        /** Interns a vertex name and returns its id. */
+        public int addVertex(String id) {
+            Integer existing = indexOf.get(id);
+            if (existing != null) return existing;
+
+            if (vertexCount == vertexIds.length) {
+                vertexIds = Arrays.copyOf(vertexIds, vertexCount * 2);
+            }
+            vertexIds[vertexCount] = id;
+            indexOf.put(id, vertexCount);
+            return vertexCount++;
+        }
+
+        public Builder addEdge(String fromId, String toId, double w) {
+            return addEdge(addVertex(fromId), addVertex(toId), w);
+        }
+
+        /** Adds an edge between two already interned vertex ids. */
+        public Builder addEdge(int u, int v, double w) {
+            if (u < 0 || u >= vertexCount || v < 0 || v >= vertexCount) {
+                throw new IllegalArgumentException("Unknown vertex id in edge " + u + " -- " + v);
+            }
+            if (edgeCount == from.length) {
+                int capacity = edgeCount * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[edgeCount] = u;
+            to[edgeCount] = v;
+            weight[edgeCount] = w;
+            edgeCount++;
+            return this;
+        }
+
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        /** Freezes the accumulated data. The builder must not be used afterwards. */
+        public CompactGraph build() {
+            return new CompactGraph(
+                    Arrays.copyOf(vertexIds, vertexCount), indexOf,
+                    Arrays.copyOf(from, edgeCount),
+                    Arrays.copyOf(to, edgeCount),
+                    Arrays.copyOf(weight, edgeCount));
+        }
+    }
+}
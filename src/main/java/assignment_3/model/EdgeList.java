@@ -0,0 +1,27 @@
+package assignment_3.model;
+
+/**
+ * Read-only, index-based view of an undirected edge list over interned
+ * vertex ids 0..V-1. Implemented by in-heap and memory-mapped graphs so the
+ * edge-centric engines can consume either without copying.
+ */
+public interface EdgeList {
+
+    int getVertexCount();
+
+    int getEdgeCount();
+
+    String getVertexId(int v);
+
+    int getEdgeFrom(int e);
+
+    int getEdgeTo(int e);
+
+    double getEdgeWeight(int e);
+
+    /** Materializes edge e as a model object (only meant for result edges, not traversal). */
+    default Edge toEdge(int e) {
+        return new Edge(new Vertex(getVertexId(getEdgeFrom(e))),
+                new Vertex(getVertexId(getEdgeTo(e))), getEdgeWeight(e));
+    }
+}
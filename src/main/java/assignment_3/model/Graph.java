@@ -4,15 +4,17 @@ import java.util.*;
 
 public class Graph {
     private final Map<Vertex, List<Edge>> adjacencyList;
+    private final Map<String, Vertex> vertexIndex; // id -> vertex, O(1) lookup on addEdge
     private final List<Edge> allEdges;
 
     public Graph() {
-        this.adjacencyList = new HashMap<>();
+        this.adjacencyList = new LinkedHashMap<>();
+        this.vertexIndex = new HashMap<>();
         this.allEdges = new ArrayList<>();
     }
 
     public void addVertex(String id) {
-        adjacencyList.putIfAbsent(new Vertex(id), new ArrayList<>());
+        getOrCreateVertex(id);
     }
 
     public void addEdge(String fromId, String toId, double weight) {
@@ -28,15 +30,11 @@ public class Graph {
     }
 
     private Vertex getOrCreateVertex(String id) {
-        return adjacencyList.keySet()
-                .stream()
-                .filter(v -> v.getId().equals(id))
-                .findFirst()
-                .orElseGet(() -> {
-                    Vertex v = new Vertex(id);
-                    adjacencyList.put(v, new ArrayList<>());
-                    return v;
-                });
+        return vertexIndex.computeIfAbsent(id, key -> {
+            Vertex v = new Vertex(key);
+            adjacencyList.put(v, new ArrayList<>());
+            return v;
+        });
     }
 
     public Set<Vertex> getVertices() {
@@ -51,6 +49,11 @@ public class Graph {
         return adjacencyList.getOrDefault(vertex, Collections.emptyList());
     }
 
+    /** Freezes this graph into a primitive CSR representation for the array-based engines. */
+    public CompactGraph toCompactGraph() {
+        return CompactGraph.from(this);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("Graph:\n");
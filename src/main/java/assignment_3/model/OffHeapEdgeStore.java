@@ -0,0 +1,331 @@
+package assignment_3.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Graph whose edge and adjacency arrays live outside the Java heap, either
+ * in direct buffers or in a memory-mapped scratch file.
+ *
+ * Layout is struct-of-arrays, like {@link CompactGraph}: from:int[E],
+ * to:int[E], weight:double[E], and after {@link #freeze()} a CSR adjacency
+ * of targets:int[2E], weights:double[2E], edgeIds:int[2E]. Each array is
+ * split into windows of at most 2^27 elements to stay under the 2 GB limit
+ * of a single buffer. Only the vertex names and the V+1 adjacency offsets
+ * are on the heap, so even a graph with hundreds of millions of edges gives
+ * the garbage collector almost nothing to trace, and reads are plain
+ * absolute buffer gets with no allocation.
+ *
+ * Capacity is fixed up front. Direct memory is returned once the store is
+ * unreachable; a file-backed store is scratch space in native byte order,
+ * not a portable format (see {@link assignment_3.io.BinaryGraphFormat} for that).
+ */
+public final class OffHeapEdgeStore implements AdjacencyList, Closeable {
+
+    private static final int WINDOW_SHIFT = 27;
+    private static final int WINDOW_MASK = (1 << WINDOW_SHIFT) - 1;
+
+    /** Largest capacity whose 2E adjacency slots still fit an int index. */
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE / 2;
+
+    private final FileChannel channel; // null when backed by direct memory
+    private long fileBytes;
+
+    // --- Vertex id table (heap, O(V)) ---
+    private final Map<String, Integer> indexOf = new HashMap<>();
+    private String[] vertexIds = new String[16];
+    private int vertexCount;
+
+    // --- Edge list (off-heap) ---
+    private final int capacity;
+    private final IntBuffer[] edgeFrom;
+    private final IntBuffer[] edgeTo;
+    private final DoubleBuffer[] edgeWeight;
+    private int edgeCount;
+
+    // --- CSR adjacency (off-heap except offsets), built by freeze() ---
+    private int[] offsets;
+    private IntBuffer[] targets;
+    private DoubleBuffer[] weights;
+    private IntBuffer[] edgeIds;
+
+    private OffHeapEdgeStore(FileChannel channel, int capacity) throws IOException {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be in 0.." + MAX_CAPACITY + ": " + capacity);
+        }
+        this.channel = channel;
+        this.capacity = capacity;
+        this.edgeFrom = intWindows(capacity);
+        this.edgeTo = intWindows(capacity);
+        this.edgeWeight = doubleWindows(capacity);
+    }
+
+    /** Store for up to {@code capacity} edges in direct (off-heap) memory. */
+    public static OffHeapEdgeStore allocateDirect(int capacity) {
+        try {
+            return new OffHeapEdgeStore(null, capacity);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex); // direct allocation does no I/O
+        }
+    }
+
+    /**
+     * Store for up to {@code capacity} edges in a memory-mapped scratch file,
+     * created or truncated. The OS pages it in and out, so the graph may be
+     * larger than physical memory.
+     */
+    public static OffHeapEdgeStore mapFile(Path file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new OffHeapEdgeStore(channel, capacity);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Copies any edge list (e.g. a {@link CompactGraph} or a memory-mapped
+     * binary graph) into a frozen store, in direct memory when {@code file}
+     * is null and in that scratch file otherwise.
+     */
+    public static OffHeapEdgeStore copyOf(EdgeList edges, Path file) throws IOException {
+        int m = edges.getEdgeCount();
+        OffHeapEdgeStore store = file == null ? allocateDirect(m) : mapFile(file, m);
+        try {
+            for (int v = 0; v < edges.getVertexCount(); v++) {
+                if (store.addVertex(edges.getVertexId(v)) != v) {
+                    throw new IllegalArgumentException("Duplicate vertex id: " + edges.getVertexId(v));
+                }
+            }
+            for (int e = 0; e < m; e++) {
+                store.addEdge(edges.getEdgeFrom(e), edges.getEdgeTo(e), edges.getEdgeWeight(e));
+            }
+            return store.freeze();
+        } catch (IOException | RuntimeException ex) {
+            store.close();
+            throw ex;
+        }
+    }
+
+    // --- Building ---
+
+    /** Interns a vertex name and returns its id. */
+    public int addVertex(String id) {
+        Integer existing = indexOf.get(id);
+        if (existing != null) return existing;
+        requireMutable();
+
+        if (vertexCount == vertexIds.length) {
+            vertexIds = Arrays.copyOf(vertexIds, vertexCount * 2);
+        }
+        vertexIds[vertexCount] = id;
+        indexOf.put(id, vertexCount);
+        return vertexCount++;
+    }
+
+    public OffHeapEdgeStore addEdge(String fromId, String toId, double w) {
+        return addEdge(addVertex(fromId), addVertex(toId), w);
+    }
+
+    /** Appends an edge between two already interned vertex ids. */
+    public OffHeapEdgeStore addEdge(int u, int v, double w) {
+        requireMutable();
+        if (u < 0 || u >= vertexCount || v < 0 || v >= vertexCount) {
+            throw new IllegalArgumentException("Unknown vertex id in edge " + u + " -- " + v);
+        }
+        if (edgeCount == capacity) {
+            throw new IllegalStateException("Edge store is full (capacity " + capacity + ")");
+        }
+        int e = edgeCount++;
+        edgeFrom[e >>> WINDOW_SHIFT].put(e & WINDOW_MASK, u);
+        edgeTo[e >>> WINDOW_SHIFT].put(e & WINDOW_MASK, v);
+        edgeWeight[e >>> WINDOW_SHIFT].put(e & WINDOW_MASK, w);
+        return this;
+    }
+
+    /**
+     * Builds the CSR adjacency with a counting pass and a scatter pass, as
+     * {@link CompactGraph} does. No vertices or edges can be added afterwards.
+     */
+    public OffHeapEdgeStore freeze() throws IOException {
+        if (offsets != null) return this;
+        int n = vertexCount;
+        int m = edgeCount;
+
+        int[] counts = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            counts[getEdgeFrom(e) + 1]++;
+            counts[getEdgeTo(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            counts[v + 1] += counts[v];
+        }
+
+        targets = intWindows(2 * m);
+        weights = doubleWindows(2 * m);
+        edgeIds = intWindows(2 * m);
+        int[] next = Arrays.copyOf(counts, n);
+        for (int e = 0; e < m; e++) {
+            int u = getEdgeFrom(e);
+            int v = getEdgeTo(e);
+            double w = getEdgeWeight(e);
+            putSlot(next[u]++, v, w, e);
+            putSlot(next[v]++, u, w, e);
+        }
+        offsets = counts;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return offsets != null;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Returns the interned id of a vertex name, or -1 if the store does not contain it. */
+    public int indexOf(String id) {
+        Integer index = indexOf.get(id);
+        return index == null ? -1 : index;
+    }
+
+    // --- Edge list accessors ---
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public String getVertexId(int v) {
+        return vertexIds[v];
+    }
+
+    @Override
+    public int getEdgeFrom(int e) {
+        return edgeFrom[e >>> WINDOW_SHIFT].get(e & WINDOW_MASK);
+    }
+
+    @Override
+    public int getEdgeTo(int e) {
+        return edgeTo[e >>> WINDOW_SHIFT].get(e & WINDOW_MASK);
+    }
+
+    @Override
+    public double getEdgeWeight(int e) {
+        return edgeWeight[e >>> WINDOW_SHIFT].get(e & WINDOW_MASK);
+    }
+
+    // --- Adjacency accessors (after freeze) ---
+
+    @Override
+    public int adjacencyStart(int v) {
+        return frozenOffsets()[v];
+    }
+
+    @Override
+    public int adjacencyEnd(int v) {
+        return frozenOffsets()[v + 1];
+    }
+
+    @Override
+    public int getTarget(int slot) {
+        return targets[slot >>> WINDOW_SHIFT].get(slot & WINDOW_MASK);
+    }
+
+    @Override
+    public double getWeight(int slot) {
+        return weights[slot >>> WINDOW_SHIFT].get(slot & WINDOW_MASK);
+    }
+
+    @Override
+    public int getEdgeId(int slot) {
+        return edgeIds[slot >>> WINDOW_SHIFT].get(slot & WINDOW_MASK);
+    }
+
+    /**
+     * Closes the backing file, if any. Buffers stay valid until garbage
+     * collected, but a closed store should not be used any more.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapEdgeStore[V=" + vertexCount + ", E=" + edgeCount
+                + (channel != null ? ", mapped" : ", direct") + "]";
+    }
+
+    // --- Internals ---
+
+    private void requireMutable() {
+        if (offsets != null) throw new IllegalStateException("Edge store is frozen");
+    }
+
+    private int[] frozenOffsets() {
+        if (offsets == null) throw new IllegalStateException("Adjacency is only available after freeze()");
+        return offsets;
+    }
+
+    private void putSlot(int slot, int target, double weight, int edgeId) {
+        targets[slot >>> WINDOW_SHIFT].put(slot & WINDOW_MASK, target);
+        weights[slot >>> WINDOW_SHIFT].put(slot & WINDOW_MASK, weight);
+        edgeIds[slot >>> WINDOW_SHIFT].put(slot & WINDOW_MASK, edgeId);
+    }
+
+    private IntBuffer[] intWindows(int elements) throws IOException {
+        IntBuffer[] windows = new IntBuffer[windowCount(elements)];
+        for (int w = 0; w < windows.length; w++) {
+            windows[w] = allocate(windowLength(elements, w) * (long) Integer.BYTES).asIntBuffer();
+        }
+        return windows;
+    }
+
+    private DoubleBuffer[] doubleWindows(int elements) throws IOException {
+        DoubleBuffer[] windows = new DoubleBuffer[windowCount(elements)];
+        for (int w = 0; w < windows.length; w++) {
+            windows[w] = allocate(windowLength(elements, w) * (long) Double.BYTES).asDoubleBuffer();
+        }
+        return windows;
+    }
+
+    private static int windowCount(int elements) {
+        return (int) (((long) elements + WINDOW_MASK) >>> WINDOW_SHIFT);
+    }
+
+    private static int windowLength(int elements, int window) {
+        return (int) Math.min(1L << WINDOW_SHIFT, elements - ((long) window << WINDOW_SHIFT));
+    }
+
+    /** Next region of the backing storage; file regions are laid out back to back, 8-byte aligned. */
+    private ByteBuffer allocate(long bytes) throws IOException {
+        ByteBuffer buffer;
+        if (channel == null) {
+            buffer = ByteBuffer.allocateDirect((int) bytes);
+        } else {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, fileBytes, bytes);
+            fileBytes = (fileBytes + bytes + 7) & ~7L;
+        }
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+}
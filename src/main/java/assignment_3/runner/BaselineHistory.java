@@ -0,0 +1,191 @@
+package assignment_3.runner;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.TimingStats;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only history of measured runs, one JSON object per line and per
+ * graph and algorithm:
+ *
+ * <pre>
+ * {"run": "2024-05-01T10:00:00Z", "label": "a1b2c3", "dataset": ..., "graph": ..., "algorithm": "Prim",
+ *  "vertex_count": ..., "edge_count": ..., "total_cost": ..., "operations": ...,
+ *  "allocated_bytes_per_run": ..., "median_ns": ..., "samples_ns": [...]}
+ * </pre>
+ *
+ * Results without {@link TimingStats} are written with an empty
+ * "samples_ns" and no "median_ns". Every line of one runner invocation
+ * shares its "run" timestamp. Nothing is
+ * ever rewritten, so the file doubles as a log of all past baselines, and
+ * each line is flushed as it is written. Results answered from the
+ * {@link assignment_3.cache.MSTResultCache} carry the timings measured back
+ * then, so {@link RunnerOptions} rejects --history together with --cache.
+ */
+public class BaselineHistory implements ResultSink {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Writer writer;
+    private final String run;
+    private final String label;
+
+    /** Opens the history for appending, stamping every line with the current time as run id. */
+    public BaselineHistory(Path file, String label) throws IOException {
+        this(file, Instant.now().toString(), label);
+    }
+
+    BaselineHistory(Path file, String run, String label) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        this.run = run;
+        this.label = label;
+    }
+
+    @Override
+    public void accept(ComparisonResult result) throws IOException {
+        append(result, "Prim", result.getPrim());
+        append(result, "Kruskal", result.getKruskal());
+        writer.flush();
+    }
+
+    private void append(ComparisonResult comparison, String algorithm, AlgorithmResult result) throws IOException {
+        try (JsonGenerator gen = MAPPER.getFactory().createGenerator(writer)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            gen.writeStringField("run", run);
+            if (label != null) gen.writeStringField("label", label);
+            gen.writeStringField("dataset", comparison.getDataset());
+            gen.writeStringField("graph", comparison.getGraphName());
+            gen.writeStringField("algorithm", algorithm);
+            gen.writeNumberField("vertex_count", result.getVertexCount());
+            gen.writeNumberField("edge_count", result.getEdgeCount());
+            gen.writeNumberField("total_cost", result.getTotalCost());
+            gen.writeNumberField("operations", result.getOperationCount());
+
+            // Untimed results only know whole milliseconds, which are not comparable samples
+            TimingStats timing = result.getTiming();
+            long[] samples = timing != null ? timing.getSamples() : new long[0];
+            gen.writeNumberField("allocated_bytes_per_run", timing != null ? timing.getAllocatedBytesPerRun() : -1);
+            if (timing != null) gen.writeNumberField("median_ns", timing.getMedianNanos());
+            gen.writeFieldName("samples_ns");
+            gen.writeArray(samples, 0, samples.length);
+            gen.writeEndObject();
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /** Reads every entry of a history file in file order. */
+    public static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank()) continue;
+                try {
+                    entries.add(new Entry(MAPPER.readTree(line)));
+                } catch (IOException | RuntimeException ex) {
+                    throw new IOException("Malformed history entry at " + file + ":" + number, ex);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /** One recorded graph x algorithm measurement. */
+    public static final class Entry {
+        private final String run;
+        private final String label;
+        private final String dataset;
+        private final String graph;
+        private final String algorithm;
+        private final int vertexCount;
+        private final int edgeCount;
+        private final long operations;
+        private final long allocatedBytesPerRun;
+        private final long[] samples;
+
+        private Entry(JsonNode node) {
+            run = node.get("run").asText();
+            label = node.hasNonNull("label") ? node.get("label").asText() : null;
+            dataset = node.get("dataset").asText();
+            graph = node.get("graph").asText();
+            algorithm = node.get("algorithm").asText();
+            vertexCount = node.path("vertex_count").asInt();
+            edgeCount = node.path("edge_count").asInt();
+            operations = node.path("operations").asLong();
+            allocatedBytesPerRun = node.path("allocated_bytes_per_run").asLong(-1);
+            JsonNode array = node.get("samples_ns");
+            samples = new long[array.size()];
+            for (int i = 0; i < samples.length; i++) samples[i] = array.get(i).asLong();
+        }
+
+        public String getRun() {
+            return run;
+        }
+
+        /** Run label, or null. */
+        public String getLabel() {
+            return label;
+        }
+
+        public String getDataset() {
+            return dataset;
+        }
+
+        public String getGraph() {
+            return graph;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /** Identifies the same measurement across runs: dataset, graph and algorithm. */
+        public String getKey() {
+            return dataset + "/" + graph + "/" + algorithm;
+        }
+
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        /** Bytes allocated per timed run, or -1 if unknown. */
+        public long getAllocatedBytesPerRun() {
+            return allocatedBytesPerRun;
+        }
+
+        /** Timed trial durations in nanoseconds, in run order. */
+        public long[] getSamples() {
+            return samples.clone();
+        }
+    }
+}
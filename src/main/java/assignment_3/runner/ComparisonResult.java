@@ -0,0 +1,49 @@
+package assignment_3.runner;
+
+import assignment_3.algorithms.AlgorithmResult;
+
+/**
+ * Prim and Kruskal results for one graph of one dataset, as emitted to the
+ * JSON and CSV outputs.
+ */
+public class ComparisonResult {
+    private final String dataset;
+    private final String graphName;
+    private final AlgorithmResult prim;
+    private final AlgorithmResult kruskal;
+
+    public ComparisonResult(String dataset, String graphName, AlgorithmResult prim, AlgorithmResult kruskal) {
+        this.dataset = dataset;
+        this.graphName = graphName;
+        this.prim = prim;
+        this.kruskal = kruskal;
+    }
+
+    public String getDataset() {
+        return dataset;
+    }
+
+    public String getGraphName() {
+        return graphName;
+    }
+
+    public AlgorithmResult getPrim() {
+        return prim;
+    }
+
+    public AlgorithmResult getKruskal() {
+        return kruskal;
+    }
+
+    public int getVertexCount() {
+        return prim.getVertexCount();
+    }
+
+    public int getEdgeCount() {
+        return prim.getEdgeCount();
+    }
+
+    public boolean isEqualTotalCost() {
+        return Math.abs(prim.getTotalCost() - kruskal.getTotalCost()) < 1e-6;
+    }
+}
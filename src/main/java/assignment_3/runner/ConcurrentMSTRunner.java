@@ -0,0 +1,245 @@
+package assignment_3.runner;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.MSTAlgorithm;
+import assignment_3.io.GraphHandler;
+import assignment_3.io.StreamingGraphLoader;
+import assignment_3.model.Graph;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent variant of the comparison run.
+ *
+ * Datasets are streamed by a small loader pool; every parsed graph becomes
+ * two CPU jobs (Prim and Kruskal) on a bounded worker pool. A memory budget
+ * (a share of -Xmx, in KB permits) covers each graph from its first parsed
+ * vertex until both its jobs finish, so several huge graphs never sit in
+ * memory at once. A loader starts a graph only once a first slice of the
+ * budget is free; the estimate is then charged as vertices and edges stream
+ * by, without ever blocking mid-parse (which could deadlock two half-read
+ * graphs). A graph larger than the remaining budget drives it below zero,
+ * and no further graph starts loading until enough has been released.
+ *
+ * Results are handed to the consumer in input order (file order, then graph
+ * order within a file), whatever order the jobs finish in. Repeated trials of
+ * one algorithm stay on one worker, but Prim and Kruskal of the same graph may
+ * run side by side, so use the sequential mode for precise timings.
+ */
+public class ConcurrentMSTRunner {
+
+    /** Receives results in deterministic order on the calling thread. */
+    @FunctionalInterface
+    public interface ResultConsumer {
+        void accept(ComparisonResult result) throws IOException;
+    }
+
+    // Rough live size of the object-per-edge Graph plus the engines' CSR copy
+    private static final long BYTES_PER_VERTEX = 160;
+    private static final long BYTES_PER_EDGE = 240;
+    // Admission slice and charging granularity of a streaming graph
+    private static final long CHARGE_STEP_BYTES = 1 << 20;
+
+    /** Marks the end of one dataset's result queue. */
+    private static final CompletableFuture<ComparisonResult> END_OF_DATASET = CompletableFuture.completedFuture(null);
+
+    private final MSTAlgorithm prim;
+    private final MSTAlgorithm kruskal;
+    private final RunnerOptions options;
+    private final TrialTimer timer;
+
+    public ConcurrentMSTRunner(MSTAlgorithm prim, MSTAlgorithm kruskal, RunnerOptions options, TrialTimer timer) {
+        this.prim = prim;
+        this.kruskal = kruskal;
+        this.options = options;
+        this.timer = timer;
+    }
+
+    public void run(List<String> inputFiles, ResultConsumer consumer) throws IOException {
+        ExecutorService io = Executors.newFixedThreadPool(Math.min(options.getIoThreads(), Math.max(1, inputFiles.size())),
+                daemonThreads("mst-loader"));
+        ExecutorService cpu = Executors.newFixedThreadPool(options.getCpuThreads(), daemonThreads("mst-worker"));
+        MemoryBudget budget = new MemoryBudget(options.getMemoryFraction());
+
+        try {
+            List<BlockingQueue<CompletableFuture<ComparisonResult>>> queues = new ArrayList<>();
+            for (String path : inputFiles) {
+                BlockingQueue<CompletableFuture<ComparisonResult>> queue = new LinkedBlockingQueue<>();
+                queues.add(queue);
+                io.execute(() -> loadDataset(path, queue, cpu, budget));
+            }
+
+            // --- Drain in input order ---
+            for (BlockingQueue<CompletableFuture<ComparisonResult>> queue : queues) {
+                CompletableFuture<ComparisonResult> next;
+                while ((next = queue.take()) != END_OF_DATASET) {
+                    consumer.accept(join(next));
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Concurrent run interrupted", ex);
+        } finally {
+            io.shutdownNow();
+            cpu.shutdownNow();
+        }
+    }
+
+    /** Streams one dataset, queueing one future per graph and the end marker last. */
+    private void loadDataset(String path, BlockingQueue<CompletableFuture<ComparisonResult>> queue,
+                             ExecutorService cpu, MemoryBudget budget) {
+        String dataset = new File(path).getName();
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(path)) {
+            while (true) {
+                ChargingGraphBuilder builder = new ChargingGraphBuilder(budget, budget.acquire(CHARGE_STEP_BYTES));
+                boolean more;
+                try {
+                    more = loader.next(builder);
+                } catch (IOException | RuntimeException ex) {
+                    budget.release(builder.charged);
+                    throw ex;
+                }
+                if (!more) {
+                    budget.release(builder.charged);
+                    break;
+                }
+                Graph graph = builder.graph;
+                String name = builder.name;
+                int permits = builder.charged;
+
+                CompletableFuture<AlgorithmResult> primJob = CompletableFuture.supplyAsync(() -> timer.measure(prim, graph), cpu);
+                CompletableFuture<AlgorithmResult> kruskalJob = CompletableFuture.supplyAsync(() -> timer.measure(kruskal, graph), cpu);
+                CompletableFuture<ComparisonResult> result = primJob
+                        .thenCombine(kruskalJob, (p, k) -> new ComparisonResult(dataset, name, p, k));
+                result.whenComplete((r, ex) -> budget.release(permits));
+                queue.add(result);
+            }
+        } catch (IOException | RuntimeException ex) {
+            queue.add(CompletableFuture.failedFuture(new IOException("Failed to process " + path, ex)));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            queue.add(CompletableFuture.failedFuture(ex));
+        } finally {
+            queue.add(END_OF_DATASET);
+        }
+    }
+
+    private static ComparisonResult join(CompletableFuture<ComparisonResult> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("MST job failed", cause);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** Builds one graph, charging its estimated size to the budget in steps as it streams by. */
+    private static final class ChargingGraphBuilder implements GraphHandler {
+        private final MemoryBudget budget;
+        private Graph graph;
+        private String name;
+        private long bytes;
+        private int charged; // KB permits held for this graph, starting with the admission slice
+
+        ChargingGraphBuilder(MemoryBudget budget, int admitted) {
+            this.budget = budget;
+            this.charged = admitted;
+        }
+
+        @Override
+        public void beginGraph() {
+            graph = new Graph();
+        }
+
+        @Override
+        public void vertex(String id) {
+            graph.addVertex(id);
+            grow(BYTES_PER_VERTEX, false);
+        }
+
+        @Override
+        public void edge(String from, String to, double weight) {
+            graph.addEdge(from, to, weight);
+            grow(BYTES_PER_EDGE, false);
+        }
+
+        @Override
+        public void endGraph(String name) {
+            this.name = name;
+            grow(0, true);
+        }
+
+        private void grow(long delta, boolean settle) {
+            bytes += delta;
+            long missing = bytes / 1024 - charged;
+            if (missing >= CHARGE_STEP_BYTES / 1024 || (settle && missing > 0)) {
+                int kb = (int) Math.min(Integer.MAX_VALUE - charged, missing);
+                budget.charge(kb);
+                charged += kb;
+            }
+        }
+    }
+
+    /**
+     * Counting semaphore over a share of the max heap, in KB. Charges made
+     * while a graph streams in may take it below zero.
+     */
+    private static final class MemoryBudget {
+        private final Permits permits;
+        private final int total;
+
+        MemoryBudget(double fraction) {
+            long kb = (long) (Runtime.getRuntime().maxMemory() * fraction / 1024);
+            total = (int) Math.max(1, Math.min(Integer.MAX_VALUE, kb));
+            permits = new Permits(total);
+        }
+
+        /** Blocks until the estimate (clamped to the whole budget) is available; returns permits taken. */
+        int acquire(long bytes) throws InterruptedException {
+            int kb = (int) Math.max(1, Math.min(total, bytes / 1024));
+            permits.acquire(kb);
+            return kb;
+        }
+
+        /** Takes permits without waiting; the budget may go negative. */
+        void charge(int kb) {
+            permits.reduce(kb);
+        }
+
+        void release(int kb) {
+            permits.release(kb);
+        }
+    }
+
+    /** Exposes {@link Semaphore#reducePermits}, which can drive the count below zero. */
+    private static final class Permits extends Semaphore {
+        Permits(int permits) {
+            super(permits, true);
+        }
+
+        void reduce(int permits) {
+            reducePermits(permits);
+        }
+    }
+}
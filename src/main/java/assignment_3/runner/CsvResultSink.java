@@ -0,0 +1,76 @@
+package assignment_3.runner;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.TimingStats;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Writes one summary CSV line per comparison. Numbers use {@link Locale#ROOT}
+ * so a decimal comma never splits a column; text fields are quoted when needed.
+ */
+public class CsvResultSink implements ResultSink {
+
+    static final String HEADER = "Dataset,Graph Name,Prim Total Cost,Kruskal Total Cost,"
+            + "Prim Time (ms),Kruskal Time (ms),"
+            + "Prim Operations,Kruskal Operations,Equal Total Cost,"
+            + "Trials,Prim Min (ns),Kruskal Min (ns),Prim Median (ns),Kruskal Median (ns),"
+            + "Prim P95 (ns),Kruskal P95 (ns),Prim Stddev (ns),Kruskal Stddev (ns),"
+            + "Prim Allocated (bytes),Kruskal Allocated (bytes)\n";
+
+    private final Writer out;
+
+    public CsvResultSink(Path path) throws IOException {
+        this(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+    }
+
+    public CsvResultSink(Writer out) throws IOException {
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        this.out.write(HEADER);
+    }
+
+    @Override
+    public void accept(ComparisonResult result) throws IOException {
+        AlgorithmResult p = result.getPrim();
+        AlgorithmResult k = result.getKruskal();
+        out.write(String.format(Locale.ROOT, "%s,%s,%.2f,%.2f,%d,%d,%d,%d,%b,",
+                field(result.getDataset()), field(result.getGraphName()), p.getTotalCost(), k.getTotalCost(),
+                p.getExecutionTimeMs(), k.getExecutionTimeMs(),
+                p.getOperationCount(), k.getOperationCount(), result.isEqualTotalCost()));
+
+        TimingStats pt = p.getTiming();
+        TimingStats kt = k.getTiming();
+        if (pt != null && kt != null) {
+            out.write(String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%.1f,%.1f,%d,%d\n",
+                    pt.getTrials(), pt.getMinNanos(), kt.getMinNanos(),
+                    pt.getMedianNanos(), kt.getMedianNanos(), pt.getP95Nanos(), kt.getP95Nanos(),
+                    pt.getStddevNanos(), kt.getStddevNanos(),
+                    pt.getAllocatedBytesPerRun(), kt.getAllocatedBytesPerRun()));
+        } else {
+            out.write(",,,,,,,,,,\n");
+        }
+        out.flush();
+    }
+
+    /** RFC 4180 quoting: fields with a comma, quote or line break are quoted, inner quotes doubled. */
+    static String field(String value) {
+        if (value == null) return "";
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
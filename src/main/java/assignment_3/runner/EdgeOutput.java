@@ -0,0 +1,21 @@
+package assignment_3.runner;
+
+import java.util.Locale;
+
+/** How {@link JsonResultSink} emits the MST edge lists. */
+public enum EdgeOutput {
+    /** Full "mst_edges" array inside every algorithm object (the original layout). */
+    INLINE,
+    /** No edge lists at all; only costs, timings and counts. */
+    OMIT,
+    /** Edges streamed to a separate CSV file referenced by "mst_edges_file". */
+    EXTERNAL;
+
+    public static EdgeOutput parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown edge output '" + value + "', expected inline, omit or external");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package assignment_3.runner;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.TimingStats;
+import assignment_3.model.Edge;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Streams comparison results as one JSON array through a {@link JsonGenerator}.
+ * Every result is flushed as soon as it is written; nothing is kept in a tree.
+ *
+ * With {@link EdgeOutput#EXTERNAL} the MST edges go to a companion CSV file
+ * (dataset, graph, algorithm, from, to, weight) instead of the JSON document.
+ */
+public class JsonResultSink implements ResultSink {
+
+    private final JsonGenerator gen;
+    private final EdgeOutput edgeOutput;
+    private final Writer edgeWriter;
+    private final String edgeFileName;
+
+    public JsonResultSink(Path path, EdgeOutput edgeOutput) throws IOException {
+        this(Files.newOutputStream(path), edgeOutput,
+                edgeOutput == EdgeOutput.EXTERNAL ? edgeFileFor(path) : null);
+    }
+
+    /**
+     * @param edgeFile where external edge lists go; required (and only used)
+     *                 with {@link EdgeOutput#EXTERNAL}
+     */
+    public JsonResultSink(OutputStream out, EdgeOutput edgeOutput, Path edgeFile) throws IOException {
+        if (edgeOutput == EdgeOutput.EXTERNAL && edgeFile == null) {
+            throw new IllegalArgumentException("External edge output needs an edge file");
+        }
+        this.edgeOutput = edgeOutput;
+        if (edgeOutput == EdgeOutput.EXTERNAL) {
+            edgeWriter = Files.newBufferedWriter(edgeFile, StandardCharsets.UTF_8);
+            edgeWriter.write("Dataset,Graph Name,Algorithm,From,To,Weight\n");
+            edgeFileName = edgeFile.getFileName().toString();
+        } else {
+            edgeWriter = null;
+            edgeFileName = null;
+        }
+        gen = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+        gen.useDefaultPrettyPrinter();
+        gen.writeStartArray();
+    }
+
+    /** output.json -> output_edges.csv, next to the JSON file. */
+    static Path edgeFileFor(Path json) {
+        String name = json.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return json.resolveSibling(base + "_edges.csv");
+    }
+
+    @Override
+    public void accept(ComparisonResult result) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("graph_name", result.getGraphName());
+        gen.writeNumberField("vertex_count", result.getVertexCount());
+        gen.writeNumberField("edge_count", result.getEdgeCount());
+
+        // --- Per-algorithm results ---
+        gen.writeFieldName("prim");
+        writeAlgorithm(result, "Prim", result.getPrim());
+        gen.writeFieldName("kruskal");
+        writeAlgorithm(result, "Kruskal", result.getKruskal());
+
+        // --- Comparison summary ---
+        gen.writeBooleanField("equal_total_cost", result.isEqualTotalCost());
+        gen.writeStringField("dataset", result.getDataset());
+        gen.writeEndObject();
+
+        gen.flush();
+        if (edgeWriter != null) edgeWriter.flush();
+    }
+
+    private void writeAlgorithm(ComparisonResult comparison, String algoName, AlgorithmResult result) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("algorithm", algoName);
+        gen.writeNumberField("total_cost", result.getTotalCost());
+        gen.writeNumberField("execution_time_ms", result.getExecutionTimeMs());
+        gen.writeNumberField("operations", result.getOperationCount());
+        gen.writeNumberField("vertex_count", result.getVertexCount());
+        gen.writeNumberField("edge_count", result.getEdgeCount());
+        if (result.getTiming() != null) writeTiming(result.getTiming());
+        if (result.getMetrics() != null) {
+            gen.writeObjectFieldStart("metrics");
+            for (Map.Entry<String, Long> counter : result.getMetrics().toMap().entrySet()) {
+                gen.writeNumberField(counter.getKey(), counter.getValue());
+            }
+            gen.writeEndObject();
+        }
+
+        switch (edgeOutput) {
+            case INLINE:
+                gen.writeArrayFieldStart("mst_edges");
+                for (Edge e : result.getEdges()) {
+                    gen.writeStartObject();
+                    gen.writeStringField("from", e.getFrom().getId());
+                    gen.writeStringField("to", e.getTo().getId());
+                    gen.writeNumberField("weight", e.getWeight());
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+                break;
+            case EXTERNAL:
+                String prefix = CsvResultSink.field(comparison.getDataset()) + ","
+                        + CsvResultSink.field(comparison.getGraphName()) + "," + algoName + ",";
+                for (Edge e : result.getEdges()) {
+                    edgeWriter.write(prefix);
+                    edgeWriter.write(CsvResultSink.field(e.getFrom().getId()));
+                    edgeWriter.write(',');
+                    edgeWriter.write(CsvResultSink.field(e.getTo().getId()));
+                    edgeWriter.write(',');
+                    edgeWriter.write(Double.toString(e.getWeight()));
+                    edgeWriter.write('\n');
+                }
+                gen.writeStringField("mst_edges_file", edgeFileName);
+                break;
+            case OMIT:
+                break;
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeTiming(TimingStats timing) throws IOException {
+        gen.writeObjectFieldStart("timing");
+        gen.writeNumberField("warmup_iterations", timing.getWarmupIterations());
+        gen.writeNumberField("trials", timing.getTrials());
+        gen.writeNumberField("min_ns", timing.getMinNanos());
+        gen.writeNumberField("median_ns", timing.getMedianNanos());
+        gen.writeNumberField("p95_ns", timing.getP95Nanos());
+        gen.writeNumberField("mean_ns", timing.getMeanNanos());
+        gen.writeNumberField("stddev_ns", timing.getStddevNanos());
+        gen.writeNumberField("allocated_bytes_per_run", timing.getAllocatedBytesPerRun());
+        long[] samples = timing.getSamples();
+        gen.writeFieldName("samples_ns");
+        gen.writeArray(samples, 0, samples.length);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (Writer edges = edgeWriter; JsonGenerator g = gen) {
+            g.writeEndArray();
+        }
+    }
+}
@@ -2,134 +2,111 @@ package assignment_3.runner;
 
 import assignment_3.algorithms.AlgorithmResult;
 import assignment_3.algorithms.KruskalAlgorithm;
+import assignment_3.algorithms.MSTAlgorithm;
 import assignment_3.algorithms.PrimAlgorithm;
-import assignment_3.io.GraphLoader;
+import assignment_3.algorithms.SpanningForestAlgorithm;
+import assignment_3.cache.MSTResultCache;
 import assignment_3.io.GraphLoader.NamedGraph;
+import assignment_3.io.StreamingGraphLoader;
 import assignment_3.model.Graph;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.File;
-import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Runs Prim's and Kruskal's algorithms on multiple input datasets,
- * writes both JSON (detailed) and CSV (summary) results.
+ * writes both JSON (detailed) and CSV (summary) results through streaming
+ * {@link ResultSink}s.
+ *
+ * By default datasets and graphs are processed one after another; with
+ * --parallel the work is spread over a {@link ConcurrentMSTRunner}. Output
+ * order is the same in both modes.
  */
 public class MSTComparisonRunner {
 
     private final PrimAlgorithm prim = new PrimAlgorithm();
     private final KruskalAlgorithm kruskal = new KruskalAlgorithm();
-    private final ObjectMapper mapper = new ObjectMapper();
 
     public void runAll() throws Exception {
-        String[] inputFiles = {
-                "src/main/resources/input_small.json",
-                "src/main/resources/input_medium.json",
-                "src/main/resources/input_large.json",
-                "src/main/resources/input_extra_large.json"
-        };
-
-        ArrayNode allResults = mapper.createArrayNode();
-
-        // --- Prepare CSV writer ---
-        File csvFile = new File("src/main/resources/output.csv");
-        try (FileWriter csvWriter = new FileWriter(csvFile)) {
-            csvWriter.write("Dataset,Graph Name,Prim Total Cost,Kruskal Total Cost,"
-                    + "Prim Time (ms),Kruskal Time (ms),"
-                    + "Prim Operations,Kruskal Operations,Equal Total Cost\n");
-
-            for (String path : inputFiles) {
-                GraphLoader loader = new GraphLoader();
-                List<NamedGraph> graphs = loader.loadGraphs(path);
+        runAll(RunnerOptions.parse());
+    }
 
-                for (NamedGraph g : graphs) {
-                    ObjectNode resultNode = runComparison(g.getName(), g.getGraph());
-                    resultNode.put("dataset", new File(path).getName());
-                    allResults.add(resultNode);
+    public void runAll(RunnerOptions options) throws Exception {
+        Path json = Paths.get(options.getOutputPrefix() + ".json");
+        Path csv = Paths.get(options.getOutputPrefix() + ".csv");
 
-                    // Extract values for CSV
-                    ObjectNode primNode = (ObjectNode) resultNode.get("prim");
-                    ObjectNode kruskalNode = (ObjectNode) resultNode.get("kruskal");
+        // Each result is written and flushed as soon as it is available
+        List<ResultSink> sinks = new ArrayList<>(List.of(
+                new JsonResultSink(json, options.getEdgeOutput()),
+                new CsvResultSink(csv)));
+        if (options.getHistoryFile() != null) {
+            sinks.add(new BaselineHistory(Paths.get(options.getHistoryFile()), options.getLabel()));
+        }
+        try (ResultSink sink = ResultSink.of(sinks.toArray(new ResultSink[0]))) {
+            run(options, sink);
+        }
 
-                    String dataset = new File(path).getName();
-                    String graphName = resultNode.get("graph_name").asText();
-                    double primCost = primNode.get("total_cost").asDouble();
-                    double kruskalCost = kruskalNode.get("total_cost").asDouble();
-                    long primTime = primNode.get("execution_time_ms").asLong();
-                    long kruskalTime = kruskalNode.get("execution_time_ms").asLong();
-                    long primOps = primNode.get("operations").asLong();
-                    long kruskalOps = kruskalNode.get("operations").asLong();
-                    boolean equalCost = resultNode.get("equal_total_cost").asBoolean();
+        System.out.println("Results saved:");
+        System.out.println("    JSON: " + json);
+        System.out.println("    CSV : " + csv);
+        if (options.getEdgeOutput() == EdgeOutput.EXTERNAL) {
+            System.out.println("    MST edges: " + JsonResultSink.edgeFileFor(json));
+        }
+        if (options.getHistoryFile() != null) {
+            System.out.println("    History: " + options.getHistoryFile());
+        }
+    }
 
-                    csvWriter.write(String.format("%s,%s,%.2f,%.2f,%d,%d,%d,%d,%b\n",
-                            dataset, graphName, primCost, kruskalCost,
-                            primTime, kruskalTime, primOps, kruskalOps, equalCost));
+    /** Computes all comparisons and hands them to the consumer in input order. */
+    public void run(RunnerOptions options, ConcurrentMSTRunner.ResultConsumer consumer) throws IOException {
+        List<String> inputFiles = options.getInputs();
+        TrialTimer timer = TrialTimer.from(options);
+        MSTAlgorithm primEngine = options.isForest() ? new SpanningForestAlgorithm(prim) : prim;
+        MSTAlgorithm kruskalEngine = options.isForest() ? new SpanningForestAlgorithm(kruskal) : kruskal;
+        if (options.isParallel()) {
+            new ConcurrentMSTRunner(primEngine, kruskalEngine, options, timer).run(inputFiles, consumer);
+        } else {
+            for (String path : inputFiles) {
+                String dataset = new File(path).getName();
+                // Graphs are parsed and processed one entry at a time
+                try (StreamingGraphLoader loader = new StreamingGraphLoader(path)) {
+                    NamedGraph g;
+                    while ((g = loader.nextGraph()) != null) {
+                        consumer.accept(compare(primEngine, kruskalEngine, dataset, g.getName(), g.getGraph(), timer));
+                    }
                 }
             }
         }
 
-        // --- Write JSON output ---
-        mapper.writerWithDefaultPrettyPrinter()
-                .writeValue(new File("src/main/resources/output.json"), allResults);
-
-        System.out.println("Results saved:");
-        System.out.println("    JSON: src/main/resources/output.json");
-        System.out.println("    CSV : src/main/resources/output.csv");
+        MSTResultCache cache = timer.getCache();
+        if (cache != null) {
+            System.out.println("Result cache: " + (cache.getMemoryHits() + cache.getDiskHits()) + " hits ("
+                    + cache.getDiskHits() + " from disk), " + cache.getMisses() + " misses");
+        }
     }
 
-    private ObjectNode runComparison(String graphName, Graph graph) {
-        ObjectNode node = mapper.createObjectNode();
-
-        AlgorithmResult primResult = prim.run(graph);
-        AlgorithmResult kruskalResult = kruskal.run(graph);
-
-        node.put("graph_name", graphName);
-        node.put("vertex_count", primResult.getVertexCount());
-        node.put("edge_count", primResult.getEdgeCount());
-
-        // --- Prim results ---
-        ObjectNode primNode = createAlgorithmNode("Prim", primResult);
-        node.set("prim", primNode);
-
-        // --- Kruskal results ---
-        ObjectNode kruskalNode = createAlgorithmNode("Kruskal", kruskalResult);
-        node.set("kruskal", kruskalNode);
-
-        // --- Comparison summary ---
-        node.put("equal_total_cost",
-                Math.abs(primResult.getTotalCost() - kruskalResult.getTotalCost()) < 1e-6);
-
-        return node;
+    public ComparisonResult compare(String dataset, String graphName, Graph graph, TrialTimer timer) {
+        return compare(prim, kruskal, dataset, graphName, graph, timer);
     }
 
-    /** Builds a JSON node for a single algorithm result */
-    private ObjectNode createAlgorithmNode(String algoName, AlgorithmResult result) {
-        ObjectNode node = mapper.createObjectNode();
-        node.put("algorithm", algoName);
-        node.put("total_cost", result.getTotalCost());
-        node.put("execution_time_ms", result.getExecutionTimeMs());
-        node.put("operations", result.getOperationCount());
-        node.put("vertex_count", result.getVertexCount());
-        node.put("edge_count", result.getEdgeCount());
-
-        // --- Add MST edges array ---
-        ArrayNode edgesArray = mapper.createArrayNode();
-        result.getEdges().forEach(e -> {
-            ObjectNode edgeNode = mapper.createObjectNode();
-            edgeNode.put("from", e.getFrom().getId());
-            edgeNode.put("to", e.getTo().getId());
-            edgeNode.put("weight", e.getWeight());
-            edgesArray.add(edgeNode);
-        });
-        node.set("mst_edges", edgesArray);
-
-        return node;
+    private static ComparisonResult compare(MSTAlgorithm prim, MSTAlgorithm kruskal, String dataset,
+                                            String graphName, Graph graph, TrialTimer timer) {
+        AlgorithmResult primResult = timer.measure(prim, graph);
+        AlgorithmResult kruskalResult = timer.measure(kruskal, graph);
+        return new ComparisonResult(dataset, graphName, primResult, kruskalResult);
     }
 
+    /**
+     * Usage: MSTComparisonRunner [--parallel] [--cpu-threads N] [--io-threads N]
+     *                            [--memory-fraction F] [--forest] [--warmup N] [--trials N]
+     *                            [--cache DIR] [--cache-memory MB] [--edges inline|omit|external]
+     *                            [--output PREFIX] [--history FILE] [--label TEXT] [file.json ...]
+     */
     public static void main(String[] args) throws Exception {
-        new MSTComparisonRunner().runAll();
+        new MSTComparisonRunner().runAll(RunnerOptions.parse(args));
     }
 }
@@ -0,0 +1,388 @@
+package assignment_3.runner;
+
+import assignment_3.runner.BaselineHistory.Entry;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares two runs of a {@link BaselineHistory} and flags statistically
+ * significant slowdowns.
+ *
+ * For every dataset/graph/algorithm present in the candidate run, the timed
+ * samples of both runs are compared with a one-sided Welch t-test, which
+ * does not assume equal variances. A measurement is a
+ *  a) REGRESSION if its median grew by more than the threshold and the
+ *     p-value for "candidate is slower" is below alpha,
+ *  b) IMPROVEMENT in the mirrored case,
+ *  c) UNCHANGED otherwise,
+ *  d) INSUFFICIENT_DATA with fewer than two trials on either side, and
+ *  e) NO_BASELINE if the baseline run did not measure it.
+ * Operation and allocation counts are reported alongside, since they are
+ * deterministic and explain most real slowdowns.
+ *
+ * The report is one JSON object; the exit code is 1 when any regression was
+ * found, so the check can gate a CI job, and 3 when no measurement could be
+ * tested at all (for instance single-trial runs), so that such a gate does
+ * not pass silently.
+ */
+public class RegressionCheck {
+
+    public enum Status { REGRESSION, IMPROVEMENT, UNCHANGED, INSUFFICIENT_DATA, NO_BASELINE }
+
+    public static final double DEFAULT_THRESHOLD = 0.10;
+    public static final double DEFAULT_ALPHA = 0.01;
+
+    private final double threshold;
+    private final double alpha;
+
+    /**
+     * @param threshold smallest relative change of the median that counts (0.10 = 10 %)
+     * @param alpha     significance level of the one-sided t-test
+     */
+    public RegressionCheck(double threshold, double alpha) {
+        if (threshold < 0 || alpha <= 0 || alpha >= 1) {
+            throw new IllegalArgumentException("Need threshold >= 0 and alpha in (0, 1)");
+        }
+        this.threshold = threshold;
+        this.alpha = alpha;
+    }
+
+    /** Result for one dataset/graph/algorithm. */
+    public static final class Comparison {
+        private final Entry baseline;   // null for NO_BASELINE
+        private final Entry candidate;
+        private final double change;    // relative change of the median, NaN without baseline
+        private final double pValue;    // NaN without a test
+        private final Status status;
+
+        Comparison(Entry baseline, Entry candidate, double change, double pValue, Status status) {
+            this.baseline = baseline;
+            this.candidate = candidate;
+            this.change = change;
+            this.pValue = pValue;
+            this.status = status;
+        }
+
+        public Entry getBaseline() {
+            return baseline;
+        }
+
+        public Entry getCandidate() {
+            return candidate;
+        }
+
+        /** (candidate median / baseline median) - 1. */
+        public double getChange() {
+            return change;
+        }
+
+        /** One-sided p-value in the direction of the observed change. */
+        public double getPValue() {
+            return pValue;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+
+    /** Compares every measurement of the candidate run with the same measurement of the baseline run. */
+    public List<Comparison> compare(List<Entry> baseline, List<Entry> candidate) {
+        Map<String, Entry> byKey = new LinkedHashMap<>();
+        for (Entry e : baseline) byKey.put(e.getKey(), e);
+
+        List<Comparison> comparisons = new ArrayList<>(candidate.size());
+        for (Entry c : candidate) {
+            Entry b = byKey.get(c.getKey());
+            if (b == null) {
+                comparisons.add(new Comparison(null, c, Double.NaN, Double.NaN, Status.NO_BASELINE));
+                continue;
+            }
+            long[] before = b.getSamples();
+            long[] after = c.getSamples();
+            double change = median(after) / median(before) - 1.0;
+            if (before.length < 2 || after.length < 2) {
+                comparisons.add(new Comparison(b, c, change, Double.NaN, Status.INSUFFICIENT_DATA));
+                continue;
+            }
+
+            double slower = welchOneSidedP(before, after);
+            Status status;
+            double p;
+            if (change > threshold) {
+                p = slower;
+                status = p < alpha ? Status.REGRESSION : Status.UNCHANGED;
+            } else if (change < -threshold) {
+                p = welchOneSidedP(after, before);
+                status = p < alpha ? Status.IMPROVEMENT : Status.UNCHANGED;
+            } else {
+                p = change >= 0 ? slower : welchOneSidedP(after, before);
+                status = Status.UNCHANGED;
+            }
+            comparisons.add(new Comparison(b, c, change, p, status));
+        }
+        return comparisons;
+    }
+
+    // --- Statistics ---
+
+    /** Median of the samples, NaN if there are none. */
+    static double median(long[] samples) {
+        if (samples.length == 0) return Double.NaN;
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + (double) sorted[mid]) / 2;
+    }
+
+    /**
+     * p-value of Welch's t-test for the alternative "mean of b is greater
+     * than mean of a". Both samples need at least two values.
+     */
+    static double welchOneSidedP(long[] a, long[] b) {
+        double meanA = mean(a);
+        double meanB = mean(b);
+        double seA = variance(a, meanA) / a.length;
+        double seB = variance(b, meanB) / b.length;
+        double se = seA + seB;
+        if (se == 0) return meanB > meanA ? 0.0 : meanB < meanA ? 1.0 : 0.5;
+
+        double t = (meanB - meanA) / Math.sqrt(se);
+        double df = se * se / (seA * seA / (a.length - 1) + seB * seB / (b.length - 1));
+        double tail = 0.5 * regularizedBeta(df / (df + t * t), df / 2, 0.5); // P(T > |t|)
+        return t > 0 ? tail : 1.0 - tail;
+    }
+
+    private static double mean(long[] x) {
+        double sum = 0;
+        for (long v : x) sum += v;
+        return sum / x.length;
+    }
+
+    private static double variance(long[] x, double mean) {
+        double sum = 0;
+        for (long v : x) sum += (v - mean) * (v - mean);
+        return sum / (x.length - 1);
+    }
+
+    /** I_x(a, b) by the continued fraction of Numerical Recipes (modified Lentz). */
+    static double regularizedBeta(double x, double a, double b) {
+        if (x <= 0) return 0.0;
+        if (x >= 1) return 1.0;
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b)
+                + a * Math.log(x) + b * Math.log(1 - x));
+        if (x > (a + 1) / (a + b + 2)) {
+            return 1.0 - front * betaFraction(1 - x, b, a) / b;
+        }
+        return front * betaFraction(x, a, b) / a;
+    }
+
+    private static double betaFraction(double x, double a, double b) {
+        final double tiny = 1e-300;
+        double c = 1.0;
+        double d = 1.0 - (a + b) * x / (a + 1);
+        if (Math.abs(d) < tiny) d = tiny;
+        d = 1.0 / d;
+        double h = d;
+        for (int m = 1; m <= 300; m++) {
+            int m2 = 2 * m;
+            double num = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1.0 + num * d;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = 1.0 + num / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1.0 / d;
+            h *= d * c;
+
+            num = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1.0 + num * d;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = 1.0 + num / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1.0 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1.0) < 1e-14) break;
+        }
+        return h;
+    }
+
+    /** Lanczos approximation of ln Gamma(x) for x > 0. */
+    private static double logGamma(double x) {
+        double[] coefficients = {76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) series += coefficient / ++y;
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    // --- Report ---
+
+    /** Writes the machine-readable report; the stream is flushed but not closed. */
+    public void writeReport(OutputStream out, String baselineRun, String candidateRun,
+                            List<Comparison> comparisons) throws IOException {
+        try (JsonGenerator gen = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.useDefaultPrettyPrinter();
+            gen.writeStartObject();
+            gen.writeStringField("baseline_run", baselineRun);
+            gen.writeStringField("candidate_run", candidateRun);
+            gen.writeNumberField("threshold", threshold);
+            gen.writeNumberField("alpha", alpha);
+            gen.writeNumberField("regressions", count(comparisons, Status.REGRESSION));
+            gen.writeNumberField("improvements", count(comparisons, Status.IMPROVEMENT));
+            gen.writeArrayFieldStart("comparisons");
+            for (Comparison c : comparisons) {
+                Entry after = c.getCandidate();
+                Entry before = c.getBaseline();
+                gen.writeStartObject();
+                gen.writeStringField("dataset", after.getDataset());
+                gen.writeStringField("graph", after.getGraph());
+                gen.writeStringField("algorithm", after.getAlgorithm());
+                gen.writeStringField("status", c.getStatus().name());
+                if (after.getSamples().length > 0) {
+                    gen.writeNumberField("candidate_median_ns", median(after.getSamples()));
+                }
+                gen.writeNumberField("candidate_trials", after.getSamples().length);
+                if (before != null) {
+                    if (before.getSamples().length > 0) {
+                        gen.writeNumberField("baseline_median_ns", median(before.getSamples()));
+                    }
+                    gen.writeNumberField("baseline_trials", before.getSamples().length);
+                    if (!Double.isNaN(c.getChange())) gen.writeNumberField("median_change", c.getChange());
+                    if (!Double.isNaN(c.getPValue())) gen.writeNumberField("p_value", c.getPValue());
+                    gen.writeNumberField("operations_change", after.getOperations() - before.getOperations());
+                    if (after.getAllocatedBytesPerRun() >= 0 && before.getAllocatedBytesPerRun() >= 0) {
+                        gen.writeNumberField("allocated_bytes_change",
+                                after.getAllocatedBytesPerRun() - before.getAllocatedBytesPerRun());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    static int count(List<Comparison> comparisons, Status status) {
+        int n = 0;
+        for (Comparison c : comparisons) if (c.getStatus() == status) n++;
+        return n;
+    }
+
+    /** Number of comparisons that went through the t-test. */
+    static int tested(List<Comparison> comparisons) {
+        return comparisons.size() - count(comparisons, Status.INSUFFICIENT_DATA) - count(comparisons, Status.NO_BASELINE);
+    }
+
+    // --- Run selection ---
+
+    /** Distinct run ids in file order. */
+    static List<String> runs(List<Entry> history) {
+        Set<String> runs = new LinkedHashSet<>();
+        for (Entry e : history) runs.add(e.getRun());
+        return new ArrayList<>(runs);
+    }
+
+    /** Resolves a run id or label (latest run with that label) to a run id. */
+    static String resolve(List<Entry> history, String runOrLabel) {
+        String match = null;
+        for (Entry e : history) {
+            if (e.getRun().equals(runOrLabel)) return runOrLabel;
+            if (runOrLabel.equals(e.getLabel())) match = e.getRun();
+        }
+        if (match == null) throw new IllegalArgumentException("No run or label \"" + runOrLabel + "\" in history");
+        return match;
+    }
+
+    static List<Entry> entriesOf(List<Entry> history, String run) {
+        List<Entry> entries = new ArrayList<>();
+        for (Entry e : history) if (e.getRun().equals(run)) entries.add(e);
+        return entries;
+    }
+
+    /**
+     * Usage: RegressionCheck --history FILE [--baseline RUN|LABEL] [--candidate RUN|LABEL]
+     *                        [--threshold F] [--alpha A] [--report FILE]
+     * Defaults compare the latest run with the one before it and print the
+     * report to stdout. Exits with 1 if a regression was found and with 3 if
+     * no measurement had enough trials on both sides to be tested.
+     */
+    public static void main(String[] args) throws IOException {
+        String history = null;
+        String baseline = null;
+        String candidate = null;
+        String report = null;
+        double threshold = DEFAULT_THRESHOLD;
+        double alpha = DEFAULT_ALPHA;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--history": history = RunnerOptions.value(args, ++i); break;
+                case "--baseline": baseline = RunnerOptions.value(args, ++i); break;
+                case "--candidate": candidate = RunnerOptions.value(args, ++i); break;
+                case "--report": report = RunnerOptions.value(args, ++i); break;
+                case "--threshold": threshold = Double.parseDouble(RunnerOptions.value(args, ++i)); break;
+                case "--alpha": alpha = Double.parseDouble(RunnerOptions.value(args, ++i)); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (history == null) {
+            System.err.println("Usage: RegressionCheck --history FILE [--baseline RUN|LABEL] [--candidate RUN|LABEL]"
+                    + " [--threshold F] [--alpha A] [--report FILE]");
+            System.exit(2);
+        }
+
+        List<Entry> entries = BaselineHistory.read(Paths.get(history));
+        List<String> runs = runs(entries);
+        if (runs.isEmpty()) {
+            System.err.println("History " + history + " is empty");
+            System.exit(2);
+        }
+        String candidateRun = candidate != null ? resolve(entries, candidate) : runs.get(runs.size() - 1);
+        int previous = runs.indexOf(candidateRun) - 1;
+        if (baseline == null && previous < 0) {
+            System.err.println("No run before " + candidateRun + " to compare with");
+            System.exit(2);
+        }
+        String baselineRun = baseline != null ? resolve(entries, baseline) : runs.get(previous);
+
+        RegressionCheck check = new RegressionCheck(threshold, alpha);
+        List<Comparison> comparisons = check.compare(entriesOf(entries, baselineRun), entriesOf(entries, candidateRun));
+        if (report != null) {
+            Path path = Paths.get(report);
+            try (OutputStream out = Files.newOutputStream(path)) {
+                check.writeReport(out, baselineRun, candidateRun, comparisons);
+            }
+            System.out.println("Report: " + path);
+        } else {
+            check.writeReport(System.out, baselineRun, candidateRun, comparisons);
+            System.out.println();
+        }
+
+        int regressions = count(comparisons, Status.REGRESSION);
+        System.err.println(regressions + " regression(s) between " + baselineRun + " and " + candidateRun);
+        if (regressions > 0) System.exit(1);
+        if (tested(comparisons) == 0) {
+            System.err.println("No measurement had two or more trials in both runs; record baselines with --trials >= 2");
+            System.exit(3);
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,39 @@
+package assignment_3.runner;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination for comparison results that writes each one as soon as it is
+ * handed over, so output size in memory stays bounded by a single result and
+ * everything written so far survives a crash.
+ */
+public interface ResultSink extends ConcurrentMSTRunner.ResultConsumer, Closeable {
+
+    @Override
+    void accept(ComparisonResult result) throws IOException;
+
+    /** Combines several sinks; closing it closes all of them. */
+    static ResultSink of(ResultSink... sinks) {
+        return new ResultSink() {
+            @Override
+            public void accept(ComparisonResult result) throws IOException {
+                for (ResultSink sink : sinks) sink.accept(result);
+            }
+
+            @Override
+            public void close() throws IOException {
+                IOException failure = null;
+                for (ResultSink sink : sinks) {
+                    try {
+                        sink.close();
+                    } catch (IOException ex) {
+                        if (failure == null) failure = ex;
+                        else failure.addSuppressed(ex);
+                    }
+                }
+                if (failure != null) throw failure;
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package assignment_3.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line options of {@link MSTComparisonRunner}.
+ *
+ * <pre>
+ *   --parallel               run datasets and graph x algorithm jobs concurrently
+ *   --cpu-threads N          MST worker threads (default: available processors)
+ *   --io-threads N           dataset loader threads (default: 4)
+ *   --memory-fraction F      share of -Xmx that concurrently processed graphs may use (default: 0.6)
+ *   --forest                 solve every connected component separately (spanning forest)
+ *   --warmup N               untimed warmup runs per algorithm and graph (default: 0)
+ *   --trials N               timed runs per algorithm and graph (default: 1)
+ *   --cache DIR              reuse results of unchanged graphs stored in DIR (default: off)
+ *   --cache-memory MB        in-memory LRU budget of the cache (default: 256)
+ *   --edges MODE             MST edge lists in the JSON output: inline (default), omit or external
+ *   --output PREFIX          output files PREFIX.json / PREFIX.csv (default: src/main/resources/output)
+ *   --history FILE           also append every result to a JSONL baseline history (see {@link RegressionCheck});
+ *                            needs --trials >= 2 and is not combinable with --cache, whose
+ *                            answers carry old timings
+ *   --label TEXT             label of this run in the history, e.g. a commit id (default: none)
+ *   file.json ...            input datasets (default: the bundled inputs)
+ * </pre>
+ */
+public class RunnerOptions {
+
+    static final List<String> DEFAULT_INPUTS = List.of(
+            "src/main/resources/input_small.json",
+            "src/main/resources/input_medium.json",
+            "src/main/resources/input_large.json",
+            "src/main/resources/input_extra_large.json");
+
+    private boolean parallel;
+    private int cpuThreads = Runtime.getRuntime().availableProcessors();
+    private int ioThreads = 4;
+    private double memoryFraction = 0.6;
+    private boolean forest;
+    private int warmup = 0;
+    private int trials = 1;
+    private String cacheDirectory;
+    private long cacheMemoryMb = 256;
+    private EdgeOutput edgeOutput = EdgeOutput.INLINE;
+    private String outputPrefix = "src/main/resources/output";
+    private String historyFile;
+    private String label;
+    private final List<String> inputs = new ArrayList<>();
+
+    public static RunnerOptions parse(String... args) {
+        RunnerOptions options = new RunnerOptions();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--parallel":
+                    options.parallel = true;
+                    break;
+                case "--cpu-threads":
+                    options.cpuThreads = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--io-threads":
+                    options.ioThreads = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--memory-fraction":
+                    options.memoryFraction = Double.parseDouble(value(args, ++i));
+                    break;
+                case "--forest":
+                    options.forest = true;
+                    break;
+                case "--warmup":
+                    options.warmup = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--trials":
+                    options.trials = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--cache":
+                    options.cacheDirectory = value(args, ++i);
+                    break;
+                case "--cache-memory":
+                    options.cacheMemoryMb = Long.parseLong(value(args, ++i));
+                    break;
+                case "--edges":
+                    options.edgeOutput = EdgeOutput.parse(value(args, ++i));
+                    break;
+                case "--output":
+                    options.outputPrefix = value(args, ++i);
+                    break;
+                case "--history":
+                    options.historyFile = value(args, ++i);
+                    break;
+                case "--label":
+                    options.label = value(args, ++i);
+                    break;
+                default:
+                    if (args[i].startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                    }
+                    options.inputs.add(args[i]);
+            }
+        }
+        if (options.cpuThreads < 1 || options.ioThreads < 1) {
+            throw new IllegalArgumentException("Thread counts must be positive");
+        }
+        if (options.warmup < 0 || options.trials < 1) {
+            throw new IllegalArgumentException("--warmup must be >= 0 and --trials >= 1");
+        }
+        if (options.memoryFraction <= 0 || options.memoryFraction > 1) {
+            throw new IllegalArgumentException("--memory-fraction must be in (0, 1]");
+        }
+        if (options.historyFile != null && options.trials < 2) {
+            throw new IllegalArgumentException("--history needs --trials >= 2 for the regression t-test");
+        }
+        if (options.historyFile != null && options.cacheDirectory != null) {
+            throw new IllegalArgumentException("--history records fresh timings and cannot be combined with --cache");
+        }
+        return options;
+    }
+
+    /** Returns args[i], the value of the flag at args[i - 1]. */
+    static String value(String[] args, int i) {
+        if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        return args[i];
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public int getCpuThreads() {
+        return cpuThreads;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public double getMemoryFraction() {
+        return memoryFraction;
+    }
+
+    public boolean isForest() {
+        return forest;
+    }
+
+    public int getWarmup() {
+        return warmup;
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    /** Cache directory, or null when caching is off. */
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public long getCacheMemoryMb() {
+        return cacheMemoryMb;
+    }
+
+    public EdgeOutput getEdgeOutput() {
+        return edgeOutput;
+    }
+
+    public String getOutputPrefix() {
+        return outputPrefix;
+    }
+
+    /** Baseline history file, or null when results are not recorded. */
+    public String getHistoryFile() {
+        return historyFile;
+    }
+
+    /** Run label for the history, or null. */
+    public String getLabel() {
+        return label;
+    }
+
+    public List<String> getInputs() {
+        return inputs.isEmpty() ? DEFAULT_INPUTS : inputs;
+    }
+}
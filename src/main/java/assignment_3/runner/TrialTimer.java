@@ -0,0 +1,108 @@
+package assignment_3.runner;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.MSTAlgorithm;
+import assignment_3.algorithms.TimingStats;
+import assignment_3.cache.GraphHasher;
+import assignment_3.cache.MSTResultCache;
+import assignment_3.model.Graph;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Paths;
+
+/**
+ * Runs an algorithm several times on the same graph: untimed warmup
+ * iterations first (to get past interpretation and JIT compilation), then
+ * timed trials measured with {@link System#nanoTime()}.
+ *
+ * Allocation is read from the HotSpot {@code com.sun.management.ThreadMXBean}
+ * for the calling thread only, so it does not cover work an engine hands to
+ * other threads (e.g. parallel Boruvka).
+ *
+ * With an {@link MSTResultCache}, a graph whose content was already measured
+ * with the same algorithm and trial settings is answered from the cache,
+ * including the timings recorded back then.
+ */
+public class TrialTimer {
+
+    private final int warmupIterations;
+    private final int trials;
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private final MSTResultCache cache;
+
+    public TrialTimer(int warmupIterations, int trials) {
+        this(warmupIterations, trials, null);
+    }
+
+    /** @param cache previously measured results, or null to always measure */
+    public TrialTimer(int warmupIterations, int trials, MSTResultCache cache) {
+        if (warmupIterations < 0 || trials < 1) {
+            throw new IllegalArgumentException("Need warmup >= 0 and trials >= 1");
+        }
+        this.warmupIterations = warmupIterations;
+        this.trials = trials;
+        this.allocationBean = allocationBean();
+        this.cache = cache;
+    }
+
+    /** Timer for the runner's --warmup/--trials settings, backed by the --cache store if given. */
+    public static TrialTimer from(RunnerOptions options) {
+        MSTResultCache cache = options.getCacheDirectory() == null ? null
+                : new MSTResultCache(Paths.get(options.getCacheDirectory()), options.getCacheMemoryMb() << 20);
+        return new TrialTimer(options.getWarmup(), options.getTrials(), cache);
+    }
+
+    /** The backing cache, or null. */
+    public MSTResultCache getCache() {
+        return cache;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+            if (hotspot.isThreadAllocatedMemorySupported()) {
+                if (!hotspot.isThreadAllocatedMemoryEnabled()) hotspot.setThreadAllocatedMemoryEnabled(true);
+                return hotspot;
+            }
+        }
+        return null;
+    }
+
+    /** Returns the result of the last trial, carrying the statistics of all trials. */
+    public AlgorithmResult measure(MSTAlgorithm algorithm, Graph graph) {
+        if (cache == null) return measureTrials(algorithm, graph);
+
+        // Results measured with other trial settings are not interchangeable
+        String hash = GraphHasher.hash(graph);
+        String key = algorithm.getName() + "@w" + warmupIterations + "t" + trials;
+        AlgorithmResult cached = cache.get(hash, key);
+        if (cached != null) return cached;
+
+        AlgorithmResult result = measureTrials(algorithm, graph);
+        cache.put(hash, key, result);
+        return result;
+    }
+
+    private AlgorithmResult measureTrials(MSTAlgorithm algorithm, Graph graph) {
+        for (int i = 0; i < warmupIterations; i++) {
+            algorithm.run(graph);
+        }
+
+        long[] samples = new long[trials];
+        long allocated = 0;
+        long threadId = Thread.currentThread().getId();
+        AlgorithmResult last = null;
+        for (int i = 0; i < trials; i++) {
+            long bytesBefore = allocationBean != null ? allocationBean.getThreadAllocatedBytes(threadId) : 0;
+            long start = System.nanoTime();
+            last = algorithm.run(graph);
+            samples[i] = System.nanoTime() - start;
+            if (allocationBean != null) allocated += allocationBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+        }
+
+        long perRun = allocationBean != null ? allocated / trials : -1;
+        return last.withTiming(TimingStats.of(warmupIterations, samples, perRun));
+    }
+}
@@ -0,0 +1,418 @@
+package assignment_3.server;
+
+import assignment_3.algorithms.AdaptiveMSTAlgorithm;
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.BoruvkaAlgorithm;
+import assignment_3.algorithms.DensePrimAlgorithm;
+import assignment_3.algorithms.FilterKruskalAlgorithm;
+import assignment_3.algorithms.IndexedPrimAlgorithm;
+import assignment_3.algorithms.KruskalAlgorithm;
+import assignment_3.algorithms.MSTAlgorithm;
+import assignment_3.algorithms.PrimAlgorithm;
+import assignment_3.io.StreamingGraphLoader;
+import assignment_3.io.StreamingGraphLoader.NamedCompactGraph;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Resident MST service on a loopback HTTP endpoint, so callers pay for JVM
+ * startup, JIT warmup and graph parsing once instead of per query.
+ *
+ * <pre>
+ * POST   /graphs[?file=PATH]              load a {"graphs": [...]} document (body or local file)
+ * GET    /graphs                          names and sizes of the loaded graphs
+ * DELETE /graphs/NAME                     drop a graph and its results
+ * GET    /mst/NAME[?algorithm=A][&amp;edges=inline|omit]
+ *                                         MST of a loaded graph (default algorithm Kruskal)
+ * GET    /stats                           computations vs. requests served from shared results
+ * </pre>
+ *
+ * Graphs are kept in CSR form by name. Results are kept per graph and
+ * algorithm as {@link CompletableFuture}s: the first request starts the
+ * computation, and every concurrent or later request for the same pair
+ * waits on the same future, so a burst of identical queries costs one run.
+ * Loading a graph under an existing name replaces it together with its results.
+ *
+ * Requests run on a cached pool of platform threads (the build targets
+ * Java 17, which has no virtual threads); handlers mostly block on
+ * computations, so the pool simply grows with the number of open requests.
+ */
+public class MSTServer {
+
+    public static final int DEFAULT_PORT = 8089;
+    static final String DEFAULT_ALGORITHM = "Kruskal";
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Map<String, Supplier<MSTAlgorithm>> ENGINES = engines();
+
+    private final HttpServer http;
+    private final ExecutorService executor;
+    private final Map<String, LoadedGraph> graphs = new ConcurrentHashMap<>();
+    private final AtomicLong computations = new AtomicLong();
+    private final AtomicLong sharedResults = new AtomicLong();
+
+    /** Binds to the loopback interface; port 0 picks a free port. */
+    public MSTServer(int port) throws IOException {
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(task -> {
+            Thread t = new Thread(task, "mst-server-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        http.setExecutor(executor);
+        http.createContext("/graphs", exchange -> handle(exchange, this::graphs));
+        http.createContext("/mst/", exchange -> handle(exchange, this::mst));
+        http.createContext("/stats", exchange -> handle(exchange, this::stats));
+    }
+
+    private static Map<String, Supplier<MSTAlgorithm>> engines() {
+        Map<String, Supplier<MSTAlgorithm>> engines = new LinkedHashMap<>();
+        for (Supplier<MSTAlgorithm> engine : List.<Supplier<MSTAlgorithm>>of(
+                PrimAlgorithm::new, IndexedPrimAlgorithm::new, DensePrimAlgorithm::new,
+                KruskalAlgorithm::new, FilterKruskalAlgorithm::new, BoruvkaAlgorithm::new,
+                AdaptiveMSTAlgorithm::new)) {
+            engines.put(engine.get().getName().toLowerCase(Locale.ROOT), engine);
+        }
+        return engines;
+    }
+
+    public void start() {
+        http.start();
+    }
+
+    /** Stops accepting requests, waiting up to {@code delaySeconds} for open exchanges. */
+    public void stop(int delaySeconds) {
+        http.stop(delaySeconds);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    // --- Registry ---
+
+    /**
+     * Loads every graph of a {"graphs": [...]} document, replacing graphs of
+     * the same name. The whole document is parsed first, so a bad entry
+     * leaves the registry untouched.
+     */
+    public List<String> load(InputStream in) throws IOException {
+        Map<String, LoadedGraph> parsed = new LinkedHashMap<>();
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(in)) {
+            NamedCompactGraph g;
+            while ((g = loader.nextCompactGraph()) != null) {
+                if (g.getName() == null) throw new BadRequest("Graph entry without a \"name\"");
+                parsed.put(g.getName(), new LoadedGraph(g.getGraph()));
+            }
+        }
+        graphs.putAll(parsed);
+        return new ArrayList<>(parsed.keySet());
+    }
+
+    /**
+     * MST of a loaded graph, computed at most once per graph and algorithm
+     * while the graph stays loaded.
+     */
+    public AlgorithmResult solve(String graphName, String algorithm) {
+        LoadedGraph graph = graphs.get(graphName);
+        if (graph == null) throw new NotFound("Unknown graph \"" + graphName + "\"");
+        Supplier<MSTAlgorithm> engine = ENGINES.get(algorithm.toLowerCase(Locale.ROOT));
+        if (engine == null) {
+            throw new BadRequest("Unknown algorithm \"" + algorithm + "\"; expected one of " + ENGINES.keySet());
+        }
+
+        String key = algorithm.toLowerCase(Locale.ROOT);
+        CompletableFuture<AlgorithmResult> mine = new CompletableFuture<>();
+        CompletableFuture<AlgorithmResult> shared = graph.results.putIfAbsent(key, mine);
+        if (shared != null) {
+            sharedResults.incrementAndGet();
+            return shared.join();
+        }
+
+        computations.incrementAndGet();
+        try {
+            mine.complete(engine.get().run(graph.graph));
+        } catch (RuntimeException | Error ex) {
+            graph.results.remove(key, mine); // let a later request retry
+            mine.completeExceptionally(ex);
+            throw ex;
+        }
+        return mine.join();
+    }
+
+    public long getComputations() {
+        return computations.get();
+    }
+
+    /** Requests answered from a computation another request started (finished or still running). */
+    public long getSharedResults() {
+        return sharedResults.get();
+    }
+
+    // --- HTTP handlers ---
+
+    private interface Handler {
+        int handle(HttpExchange exchange, JsonGenerator out) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int status;
+        try (JsonGenerator out = JSON.createGenerator(body, JsonEncoding.UTF8)) {
+            try {
+                status = handler.handle(exchange, out);
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+            }
+        } catch (NotFound ex) {
+            status = 404;
+            body = error(ex.getMessage());
+        } catch (BadRequest | JsonProcessingException ex) {
+            status = 400;
+            body = error(ex.getMessage());
+        } catch (RuntimeException | IOException ex) {
+            // keep exception types and server paths out of the response
+            System.err.println("MST server: " + exchange.getRequestURI().getPath() + " failed: " + ex);
+            status = 500;
+            body = error("Internal error");
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            body.writeTo(out);
+        }
+    }
+
+    private static ByteArrayOutputStream error(String message) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator out = JSON.createGenerator(body, JsonEncoding.UTF8)) {
+            out.writeStartObject();
+            out.writeStringField("error", message);
+            out.writeEndObject();
+        }
+        return body;
+    }
+
+    private int graphs(HttpExchange exchange, JsonGenerator out) throws IOException {
+        requirePath(exchange, "/graphs", true);
+        String method = exchange.getRequestMethod();
+        String name = pathTail(exchange, "/graphs");
+        if ("POST".equals(method) && name.isEmpty()) {
+            String file = query(exchange).get("file");
+            List<String> names;
+            if (file != null) {
+                try (InputStream in = openGraphFile(file)) {
+                    names = load(in);
+                }
+            } else {
+                names = load(exchange.getRequestBody());
+            }
+            out.writeStartObject();
+            out.writeArrayFieldStart("loaded");
+            for (String loaded : names) writeGraphSummary(out, loaded, graphs.get(loaded));
+            out.writeEndArray();
+            out.writeEndObject();
+            return 200;
+        }
+        if ("GET".equals(method) && name.isEmpty()) {
+            out.writeStartObject();
+            out.writeArrayFieldStart("graphs");
+            for (Map.Entry<String, LoadedGraph> g : new TreeMap<>(graphs).entrySet()) {
+                writeGraphSummary(out, g.getKey(), g.getValue());
+            }
+            out.writeEndArray();
+            out.writeEndObject();
+            return 200;
+        }
+        if ("DELETE".equals(method) && !name.isEmpty()) {
+            if (graphs.remove(name) == null) throw new NotFound("Unknown graph \"" + name + "\"");
+            out.writeStartObject();
+            out.writeStringField("deleted", name);
+            out.writeEndObject();
+            return 200;
+        }
+        throw new BadRequest("Unsupported request " + method + " " + exchange.getRequestURI().getPath());
+    }
+
+    private int mst(HttpExchange exchange, JsonGenerator out) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            throw new BadRequest("Use GET for " + exchange.getRequestURI().getPath());
+        }
+        String name = pathTail(exchange, "/mst");
+        Map<String, String> query = query(exchange);
+        String algorithm = query.getOrDefault("algorithm", DEFAULT_ALGORITHM);
+        boolean edges = !"omit".equals(query.getOrDefault("edges", "inline"));
+        AlgorithmResult result = solve(name, algorithm);
+
+        out.writeStartObject();
+        out.writeStringField("graph_name", name);
+        out.writeStringField("algorithm", algorithm);
+        out.writeNumberField("total_cost", result.getTotalCost());
+        out.writeNumberField("execution_time_ms", result.getExecutionTimeMs());
+        out.writeNumberField("operations", result.getOperationCount());
+        out.writeNumberField("vertex_count", result.getVertexCount());
+        out.writeNumberField("edge_count", result.getEdgeCount());
+        if (edges) {
+            out.writeArrayFieldStart("mst_edges");
+            for (Edge e : result.getEdges()) {
+                out.writeStartObject();
+                out.writeStringField("from", e.getFrom().getId());
+                out.writeStringField("to", e.getTo().getId());
+                out.writeNumberField("weight", e.getWeight());
+                out.writeEndObject();
+            }
+            out.writeEndArray();
+        }
+        out.writeEndObject();
+        return 200;
+    }
+
+    private int stats(HttpExchange exchange, JsonGenerator out) throws IOException {
+        requirePath(exchange, "/stats", false);
+        out.writeStartObject();
+        out.writeNumberField("graphs", graphs.size());
+        out.writeNumberField("computations", getComputations());
+        out.writeNumberField("shared_results", getSharedResults());
+        out.writeEndObject();
+        return 200;
+    }
+
+    private static void writeGraphSummary(JsonGenerator out, String name, LoadedGraph graph) throws IOException {
+        out.writeStartObject();
+        out.writeStringField("name", name);
+        out.writeNumberField("vertex_count", graph.graph.getVertexCount());
+        out.writeNumberField("edge_count", graph.graph.getEdgeCount());
+        out.writeEndObject();
+    }
+
+    /** Opens a ?file= input; failures map to 404/400 without echoing the path or the exception. */
+    private static InputStream openGraphFile(String file) {
+        try {
+            Path path = Paths.get(file);
+            if (Files.isDirectory(path)) throw new BadRequest("Cannot read graph file");
+            return Files.newInputStream(path);
+        } catch (NoSuchFileException ex) {
+            throw new NotFound("Graph file not found");
+        } catch (IOException | InvalidPathException ex) {
+            throw new BadRequest("Cannot read graph file");
+        }
+    }
+
+    /**
+     * Contexts match by prefix, so "/graphsXYZ" would reach the "/graphs"
+     * handler; only the context itself and, if allowed, its sub-paths are served.
+     */
+    private static void requirePath(HttpExchange exchange, String context, boolean subPaths) {
+        String path = exchange.getRequestURI().getPath();
+        if (!path.equals(context) && !(subPaths && path.startsWith(context + "/"))) {
+            throw new NotFound("No resource " + path);
+        }
+    }
+
+    /** Decoded path after the context prefix, without the leading slash ("" for the context itself). */
+    private static String pathTail(HttpExchange exchange, String prefix) {
+        String path = exchange.getRequestURI().getPath();
+        return path.startsWith(prefix + "/") ? path.substring(prefix.length() + 1) : "";
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    // --- Internals ---
+
+    private static final class LoadedGraph {
+        final CompactGraph graph;
+        final Map<String, CompletableFuture<AlgorithmResult>> results = new ConcurrentHashMap<>();
+
+        LoadedGraph(CompactGraph graph) {
+            this.graph = graph;
+        }
+    }
+
+    /** Maps to HTTP 404. */
+    static final class NotFound extends RuntimeException {
+        NotFound(String message) {
+            super(message);
+        }
+    }
+
+    /** Maps to HTTP 400. */
+    static final class BadRequest extends RuntimeException {
+        BadRequest(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Usage: MSTServer [--port N] [file.json ...]
+     * Preloads the given files, then serves until the JVM is stopped.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = DEFAULT_PORT;
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--port".equals(args[i]) && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else {
+                files.add(args[i]);
+            }
+        }
+
+        MSTServer server = new MSTServer(port);
+        for (String file : files) {
+            try (InputStream in = Files.newInputStream(Paths.get(file))) {
+                System.out.println("Loaded " + server.load(in) + " from " + file);
+            }
+        }
+        server.start();
+        System.out.println("MST server listening on http://127.0.0.1:" + server.getPort());
+    }
+}
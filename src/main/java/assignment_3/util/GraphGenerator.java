@@ -0,0 +1,411 @@
+package assignment_3.util;
+
+import assignment_3.io.BinaryGraphWriter;
+import assignment_3.model.CompactGraph;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Configurable synthetic graph generator that streams its output.
+ *
+ * Edges are produced block by block, each block from its own seeded random
+ * stream, so no edge list is ever held in memory and the output is identical
+ * whatever the thread count. JSON output (the input schema of
+ * {@link assignment_3.io.GraphLoader}) is written sequentially; binary
+ * output ({@link assignment_3.io.BinaryGraphFormat}) can fill disjoint
+ * blocks in parallel. Weights are integral, like the bundled inputs.
+ *
+ * Usage: GraphGenerator --vertices 1000000 --edges 8000000 --topology power-law
+ *                       --seed 42 --format binary --out big.mstg --threads 8
+ *
+ * (The bundled input_extra_large.json comes from {@link ExtraLargeGraphGenerator}.)
+ */
+public class GraphGenerator {
+
+    public enum Topology {
+        /** Chain V1-V2-...-Vn for connectivity plus uniformly random extra edges. */
+        CHAIN_RANDOM,
+        /** Row-major grid with 4-neighbourhood edges; edge count follows from V. */
+        GRID,
+        /** Jittered points in the plane, snake chain plus edges to nearby cells; weight = distance. */
+        GEOMETRIC,
+        /** Chain plus extra edges whose endpoints follow a heavy-tailed (Zipf-like) distribution. */
+        POWER_LAW,
+        /** Every pair of vertices; edge count is V(V-1)/2. */
+        COMPLETE;
+
+        public static Topology parse(String s) {
+            return valueOf(s.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    public enum Format { JSON, BINARY }
+
+    /** Receives generated edges over vertex ids 0..V-1. */
+    @FunctionalInterface
+    public interface EdgeSink {
+        void edge(int u, int v, int weight) throws IOException;
+    }
+
+    private static final int EDGE_BLOCK = 1 << 16;
+    private static final double POWER_LAW_EXPONENT = 2.5;
+
+    private final int vertices;
+    private final long edges;
+    private final long seed;
+    private final Topology topology;
+    private final String name;
+
+    // Geometric layout: vertices fill a snake of this width
+    private final int columns;
+    private final long[] blockOffsets; // first edge index of every block, plus the total
+
+    public GraphGenerator(int vertices, long edges, long seed, Topology topology, String name) {
+        if (vertices < 1) throw new IllegalArgumentException("Need at least one vertex");
+        if (edgesPerUnitIsOne(topology) && edges < vertices - 1L) {
+            throw new IllegalArgumentException(topology + " needs at least V-1 = " + (vertices - 1) + " edges");
+        }
+        if (topology == Topology.COMPLETE && (long) vertices * (vertices - 1) / 2 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Complete graph on " + vertices + " vertices has too many edges");
+        }
+        this.vertices = vertices;
+        this.edges = edges;
+        this.seed = seed;
+        this.topology = topology;
+        this.name = name;
+        this.columns = Math.max(1, (int) Math.ceil(Math.sqrt(vertices)));
+        this.blockOffsets = computeBlockOffsets();
+    }
+
+    public int getVertexCount() {
+        return vertices;
+    }
+
+    /** Actual edge count; grid and complete graphs derive it from V. */
+    public long getEdgeCount() {
+        return blockOffsets[blockOffsets.length - 1];
+    }
+
+    public static String vertexName(int v) {
+        return "V" + (v + 1);
+    }
+
+    // --- Output ---
+
+    /** Generates straight into CSR form, e.g. for benchmarks and tests. */
+    public CompactGraph toCompactGraph() {
+        CompactGraph.Builder builder = new CompactGraph.Builder(vertices, (int) Math.min(getEdgeCount(), Integer.MAX_VALUE - 8));
+        for (int v = 0; v < vertices; v++) builder.addVertex(vertexName(v));
+        try {
+            generateAll((u, v, w) -> builder.addEdge(u, v, w));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex); // the builder sink never throws
+        }
+        return builder.build();
+    }
+
+    public void writeJson(Path path) throws IOException {
+        try (JsonGenerator gen = new JsonFactory().createGenerator(path.toFile(), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("graphs");
+            gen.writeStartObject();
+            gen.writeStringField("name", name);
+            gen.writeArrayFieldStart("vertices");
+            for (int v = 0; v < vertices; v++) gen.writeString(vertexName(v));
+            gen.writeEndArray();
+            gen.writeArrayFieldStart("edges");
+            generateAll((u, v, w) -> {
+                gen.writeStartObject();
+                gen.writeStringField("from", vertexName(u));
+                gen.writeStringField("to", vertexName(v));
+                gen.writeNumberField("weight", w);
+                gen.writeEndObject();
+            });
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    /** Writes the binary format, generating blocks on up to threads threads. */
+    public void writeBinary(Path path, int threads) throws IOException {
+        long total = getEdgeCount();
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Binary format holds at most " + Integer.MAX_VALUE + " edges");
+        }
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(path)) {
+            // Integral weights well below 2^24 are exact as floats
+            BinaryGraphWriter.Section section = writer.beginGraph(name, vertices,
+                    GraphGenerator::vertexName, (int) total, true);
+
+            if (threads <= 1) {
+                try (BinaryGraphWriter.EdgeRangeWriter range = section.openRange(0)) {
+                    generateAll(range::addEdge);
+                }
+            } else {
+                ExecutorService pool = Executors.newFixedThreadPool(threads);
+                try {
+                    List<Future<Void>> futures = new ArrayList<>();
+                    for (int b = 0; b < blockOffsets.length - 1; b++) {
+                        int block = b;
+                        futures.add(pool.submit(() -> {
+                            try (BinaryGraphWriter.EdgeRangeWriter range =
+                                         section.openRange((int) blockOffsets[block])) {
+                                generateBlock(block, range::addEdge);
+                            }
+                            return null;
+                        }));
+                    }
+                    for (Future<Void> f : futures) f.get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Generation interrupted", ex);
+                } catch (ExecutionException ex) {
+                    throw new IOException("Generation failed", ex.getCause());
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+            section.finish();
+        }
+    }
+
+    // --- Block structure ---
+
+    private static boolean edgesPerUnitIsOne(Topology t) {
+        return t == Topology.CHAIN_RANDOM || t == Topology.GEOMETRIC || t == Topology.POWER_LAW;
+    }
+
+    /**
+     * Work is split into units (an edge for the random topologies, a vertex
+     * for grid and complete graphs) and units into blocks of roughly
+     * EDGE_BLOCK edges.
+     */
+    private int unitsPerBlock() {
+        if (topology == Topology.GRID) return EDGE_BLOCK / 2;
+        if (topology == Topology.COMPLETE) return Math.max(1, EDGE_BLOCK / vertices);
+        return EDGE_BLOCK;
+    }
+
+    private long unitCount() {
+        return edgesPerUnitIsOne(topology) ? edges : vertices;
+    }
+
+    private long[] computeBlockOffsets() {
+        long units = unitCount();
+        int perBlock = unitsPerBlock();
+        int blocks = (int) ((units + perBlock - 1) / perBlock);
+        long[] offsets = new long[blocks + 1];
+        for (int b = 0; b < blocks; b++) {
+            long first = (long) b * perBlock;
+            long last = Math.min(units, first + perBlock);
+            long count = 0;
+            if (edgesPerUnitIsOne(topology)) {
+                count = last - first;
+            } else {
+                for (long u = first; u < last; u++) count += edgesOfUnit((int) u);
+            }
+            offsets[b + 1] = offsets[b] + count;
+        }
+        return offsets;
+    }
+
+    private int edgesOfUnit(int v) {
+        if (topology == Topology.COMPLETE) return vertices - 1 - v;
+        int count = 0;
+        if (v % columns != columns - 1 && v + 1 < vertices) count++; // right
+        if (v + columns < vertices) count++;                           // down
+        return count;
+    }
+
+    private void generateAll(EdgeSink sink) throws IOException {
+        for (int b = 0; b < blockOffsets.length - 1; b++) generateBlock(b, sink);
+    }
+
+    private void generateBlock(int block, EdgeSink sink) throws IOException {
+        SplittableRandom rand = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + block);
+        int perBlock = unitsPerBlock();
+        long first = (long) block * perBlock;
+        long last = Math.min(unitCount(), first + perBlock);
+
+        for (long unit = first; unit < last; unit++) {
+            switch (topology) {
+                case CHAIN_RANDOM:
+                    if (unit < vertices - 1) {
+                        sink.edge((int) unit, (int) unit + 1, rand.nextInt(100) + 1);
+                    } else {
+                        int u = rand.nextInt(vertices);
+                        int v = otherVertex(rand, u);
+                        sink.edge(u, v, rand.nextInt(1000) + 1);
+                    }
+                    break;
+                case POWER_LAW:
+                    if (unit < vertices - 1) {
+                        sink.edge((int) unit, (int) unit + 1, rand.nextInt(1000) + 1);
+                    } else {
+                        if (vertices == 1) {
+                            throw new IllegalArgumentException("Cannot add extra edges to a single vertex");
+                        }
+                        int u = heavyTailed(rand);
+                        int v = heavyTailed(rand);
+                        while (v == u) v = heavyTailed(rand);
+                        sink.edge(u, v, rand.nextInt(1000) + 1);
+                    }
+                    break;
+                case GEOMETRIC:
+                    geometricEdge(rand, unit, sink);
+                    break;
+                case GRID: {
+                    int v = (int) unit;
+                    if (v % columns != columns - 1 && v + 1 < vertices) sink.edge(v, v + 1, rand.nextInt(1000) + 1);
+                    if (v + columns < vertices) sink.edge(v, v + columns, rand.nextInt(1000) + 1);
+                    break;
+                }
+                case COMPLETE: {
+                    int u = (int) unit;
+                    for (int v = u + 1; v < vertices; v++) sink.edge(u, v, rand.nextInt(1000) + 1);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unhandled topology " + topology);
+            }
+        }
+    }
+
+    private int otherVertex(SplittableRandom rand, int u) {
+        if (vertices == 1) throw new IllegalArgumentException("Cannot add extra edges to a single vertex");
+        int v = rand.nextInt(vertices - 1);
+        return v >= u ? v + 1 : v;
+    }
+
+    /** Index with density proportional to x^(1/a - 1): low ids become hubs. */
+    private int heavyTailed(SplittableRandom rand) {
+        return Math.min(vertices - 1, (int) (vertices * Math.pow(rand.nextDouble(), POWER_LAW_EXPONENT)));
+    }
+
+    // --- Geometric layout ---
+
+    /** Snake order keeps consecutive vertices in neighbouring cells. */
+    private int snakeColumn(int v) {
+        int row = v / columns;
+        int offset = v % columns;
+        return row % 2 == 0 ? offset : columns - 1 - offset;
+    }
+
+    private int vertexAt(int row, int col) {
+        int offset = row % 2 == 0 ? col : columns - 1 - col;
+        return row * columns + offset;
+    }
+
+    /** Deterministic jitter in [0, 1) per vertex and axis, so positions need no storage. */
+    private double jitter(int v, int axis) {
+        long h = (seed ^ 0xD1B54A32D192ED03L) + v * 0xBF58476D1CE4E5B9L + axis;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private int distanceWeight(int u, int v) {
+        double dx = snakeColumn(u) + jitter(u, 0) - snakeColumn(v) - jitter(v, 0);
+        double dy = u / columns + jitter(u, 1) - v / columns - jitter(v, 1);
+        return (int) Math.round(Math.sqrt(dx * dx + dy * dy) * 100) + 1;
+    }
+
+    private void geometricEdge(SplittableRandom rand, long unit, EdgeSink sink) throws IOException {
+        if (unit < vertices - 1) {
+            int u = (int) unit;
+            sink.edge(u, u + 1, distanceWeight(u, u + 1));
+            return;
+        }
+        if (vertices == 1) throw new IllegalArgumentException("Cannot add extra edges to a single vertex");
+        while (true) {
+            int u = rand.nextInt(vertices);
+            int row = u / columns + rand.nextInt(5) - 2;
+            int col = snakeColumn(u) + rand.nextInt(5) - 2;
+            if (row < 0 || col < 0 || col >= columns) continue;
+            int v = vertexAt(row, col);
+            if (v == u || v >= vertices) continue;
+            sink.edge(u, v, distanceWeight(u, v));
+            return;
+        }
+    }
+
+    // --- Command line ---
+
+    public static void main(String[] args) throws Exception {
+        int vertices = 350;
+        long edges = 8000;
+        long seed = 42;
+        Topology topology = Topology.CHAIN_RANDOM;
+        Format format = Format.JSON;
+        String out = null;
+        String name = "GeneratedGraph1";
+        int threads = 1;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--vertices":
+                    vertices = Integer.parseInt(value);
+                    break;
+                case "--edges":
+                    edges = Long.parseLong(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--topology":
+                    topology = Topology.parse(value);
+                    break;
+                case "--format":
+                    format = Format.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "--out":
+                    out = value;
+                    break;
+                case "--name":
+                    name = value;
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                default:
+                    usage("Unknown option " + args[i]);
+            }
+        }
+        if (args.length % 2 != 0) usage("Missing value for " + args[args.length - 1]);
+        if (out == null) {
+            out = "generated_" + topology.name().toLowerCase(Locale.ROOT) + (format == Format.JSON ? ".json" : ".mstg");
+        }
+
+        long start = System.currentTimeMillis();
+        GraphGenerator generator = new GraphGenerator(vertices, edges, seed, topology, name);
+        if (format == Format.JSON) generator.writeJson(Paths.get(out));
+        else generator.writeBinary(Paths.get(out), threads);
+
+        System.out.println("Created " + out + " with " + vertices + " vertices and " + generator.getEdgeCount()
+                + " edges (" + topology + ") in " + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: GraphGenerator --vertices N --edges M [--seed S]"
+                + " [--topology chain-random|grid|geometric|power-law|complete]"
+                + " [--format json|binary] [--threads T] [--name NAME] [--out FILE]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,108 @@
+package assignment_3.algorithms;
+
+import assignment_3.model.Edge;
+import assignment_3.model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares {@link BottleneckPathIndex} queries with a plain walk over the
+ * MST edges.
+ */
+public class BottleneckPathIndexTest {
+
+    @Test
+    void testSmallPathAndBottleneck() {
+        Graph g = new Graph();
+        g.addEdge("A", "B", 4);
+        g.addEdge("B", "C", 2);
+        g.addEdge("C", "D", 7);
+        g.addEdge("A", "D", 9);
+        g.addEdge("B", "E", 1);
+        g.addVertex("Lonely");
+        BottleneckPathIndex index = BottleneckPathIndex.from(new KruskalAlgorithm().run(g));
+
+        assertEquals(7.0, index.bottleneck("A", "D"), 1e-9, "A-B-C-D beats the direct 9");
+        assertEquals(4.0, index.bottleneck("E", "A"), 1e-9);
+        assertEquals(Double.NEGATIVE_INFINITY, index.bottleneck("C", "C"));
+        assertTrue(index.path("C", "C").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.bottleneck("A", "Lonely"));
+
+        List<Edge> path = index.path("E", "D");
+        assertEquals(3, path.size());
+        assertEquals(1.0, path.get(0).getWeight(), 1e-9);
+        assertEquals(7.0, path.get(2).getWeight(), 1e-9);
+    }
+
+    @Test
+    void testQueriesMatchTreeWalkOnForest() {
+        Graph g = MSTEngineConsistencyTest.randomConnectedGraph(500, 3000, true, 5);
+        Graph other = MSTEngineConsistencyTest.randomConnectedGraph(80, 300, false, 6);
+        for (Edge e : other.getEdges()) g.addEdge("W" + e.getFrom().getId(), "W" + e.getTo().getId(), e.getWeight());
+        AlgorithmResult forest = new KruskalAlgorithm().run(g);
+        BottleneckPathIndex index = BottleneckPathIndex.from(forest);
+        assertEquals(580, index.getVertexCount());
+
+        Map<String, List<Edge>> adjacency = new HashMap<>();
+        for (Edge e : forest.getEdges()) {
+            adjacency.computeIfAbsent(e.getFrom().getId(), k -> new ArrayList<>()).add(e);
+            adjacency.computeIfAbsent(e.getTo().getId(), k -> new ArrayList<>()).add(e);
+        }
+
+        Random rand = new Random(7);
+        int pairs = 2000;
+        int[] from = new int[pairs];
+        int[] to = new int[pairs];
+        for (int i = 0; i < pairs; i++) {
+            from[i] = rand.nextInt(index.getVertexCount());
+            to[i] = rand.nextInt(index.getVertexCount());
+        }
+        double[] batch = index.bottleneck(from, to);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        double[] parallel;
+        try {
+            parallel = index.bottleneck(from, to, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int i = 0; i < pairs; i++) {
+            String a = index.getVertexId(from[i]);
+            String b = index.getVertexId(to[i]);
+            double expected = walkMax(adjacency, a, b);
+            assertEquals(expected, batch[i], 1e-9, a + " .. " + b);
+            assertEquals(expected, parallel[i], 1e-9);
+            if (expected != Double.POSITIVE_INFINITY && !a.equals(b)) {
+                double pathMax = index.path(a, b).stream().mapToDouble(Edge::getWeight).max().orElseThrow();
+                assertEquals(expected, pathMax, 1e-9);
+            }
+        }
+    }
+
+    /** Largest weight on the unique tree path, found by BFS; +inf if unreachable. */
+    private static double walkMax(Map<String, List<Edge>> adjacency, String a, String b) {
+        if (a.equals(b)) return Double.NEGATIVE_INFINITY;
+        Map<String, Double> best = new HashMap<>();
+        best.put(a, Double.NEGATIVE_INFINITY);
+        ArrayDeque<String> queue = new ArrayDeque<>(List.of(a));
+        while (!queue.isEmpty()) {
+            String u = queue.poll();
+            for (Edge e : adjacency.getOrDefault(u, List.of())) {
+                String v = e.getFrom().getId().equals(u) ? e.getTo().getId() : e.getFrom().getId();
+                if (best.containsKey(v)) continue;
+                best.put(v, Math.max(best.get(u), e.getWeight()));
+                queue.add(v);
+            }
+        }
+        return best.getOrDefault(b, Double.POSITIVE_INFINITY);
+    }
+}
@@ -0,0 +1,110 @@
+package assignment_3.algorithms;
+
+import assignment_3.model.Edge;
+import assignment_3.model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays random insertions and weight decreases against {@link DynamicMST}
+ * and compares it with Kruskal recomputed from scratch.
+ */
+public class DynamicMSTTest {
+
+    private final KruskalAlgorithm kruskal = new KruskalAlgorithm();
+
+    @Test
+    void testSmallCycleReplacement() {
+        DynamicMST mst = new DynamicMST();
+        assertTrue(mst.addEdge("A", "B", 4));
+        assertTrue(mst.addEdge("B", "C", 5));
+        assertFalse(mst.addEdge("A", "C", 6), "heaviest edge of the cycle stays out");
+        assertTrue(mst.addEdge("A", "C", 1), "replaces B-C");
+        assertEquals(5.0, mst.getTotalCost(), 1e-9);
+        assertEquals(2, mst.getTreeEdgeCount());
+
+        assertTrue(mst.decreaseWeight("A", "B", 2));
+        assertEquals(3.0, mst.getTotalCost(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> mst.decreaseWeight("A", "B", 10));
+        assertFalse(mst.connected("A", "Z"));
+    }
+
+    @Test
+    void testUpdatesMatchRecomputation() {
+        Random rand = new Random(17);
+        int n = 300;
+        Map<String, Double> weights = new LinkedHashMap<>(); // "u|v" with u < v -> current weight
+        for (int i = 1; i < n; i++) weights.put(key(i - 1, i), (double) rand.nextInt(1000) + 1);
+        for (int e = 0; e < 600; e++) addRandom(rand, n, weights);
+
+        DynamicMST mst = DynamicMST.from(kruskal.run(toGraph(n, weights)));
+        List<String> keys = new ArrayList<>(weights.keySet());
+
+        for (int step = 0; step < 2000; step++) {
+            if (rand.nextBoolean()) {
+                String k = addRandom(rand, n, weights);
+                if (k != null) {
+                    keys.add(k);
+                    String[] uv = k.split("\\|");
+                    mst.addEdge(uv[0], uv[1], weights.get(k));
+                }
+            } else {
+                String k = keys.get(rand.nextInt(keys.size()));
+                double lower = weights.get(k) - rand.nextInt(200);
+                weights.put(k, lower);
+                String[] uv = k.split("\\|");
+                mst.decreaseWeight(uv[1], uv[0], lower);
+            }
+
+            if (step % 100 == 0) {
+                AlgorithmResult expected = kruskal.run(toGraph(n, weights));
+                assertEquals(expected.getTotalCost(), mst.getTotalCost(), 1e-6, "step " + step);
+                assertEquals(n - 1, mst.getTreeEdgeCount());
+                assertTreeIsSpanning(mst, n);
+            }
+        }
+    }
+
+    private static void assertTreeIsSpanning(DynamicMST mst, int n) {
+        DisjointSet ds = new DisjointSet(n);
+        double sum = 0;
+        for (Edge e : mst.getTreeEdges()) {
+            assertTrue(ds.union(Integer.parseInt(e.getFrom().getId()), Integer.parseInt(e.getTo().getId())),
+                    "tree edges must not form a cycle");
+            sum += e.getWeight();
+        }
+        assertEquals(1, ds.componentCount());
+        assertEquals(mst.getTotalCost(), sum, 1e-6);
+    }
+
+    /** Adds a random new (non-parallel) edge to the map; returns its key or null. */
+    private static String addRandom(Random rand, int n, Map<String, Double> weights) {
+        int a = rand.nextInt(n);
+        int b = rand.nextInt(n);
+        if (a == b || weights.containsKey(key(a, b))) return null;
+        String k = key(a, b);
+        weights.put(k, (double) rand.nextInt(1000) + 1);
+        return k;
+    }
+
+    private static String key(int a, int b) {
+        return Math.min(a, b) + "|" + Math.max(a, b);
+    }
+
+    private static Graph toGraph(int n, Map<String, Double> weights) {
+        Graph g = new Graph();
+        for (int i = 0; i < n; i++) g.addVertex(String.valueOf(i));
+        for (Map.Entry<String, Double> e : weights.entrySet()) {
+            String[] uv = e.getKey().split("\\|");
+            g.addEdge(uv[0], uv[1], e.getValue());
+        }
+        return g;
+    }
+}
@@ -1,5 +1,6 @@
 package assignment_3.algorithms;
 
+import assignment_3.model.CompactGraph;
 import assignment_3.model.Graph;
 import assignment_3.model.Edge;
 import assignment_3.model.Vertex;
@@ -121,6 +122,42 @@ public class MSTAlgorithmTest {
                 "Kruskal should not create full MST for disconnected graph");
     }
 
+    @Test
+    void testCompactGraphMatchesGraph() {
+        Graph g = buildSimpleGraph();
+        CompactGraph cg = g.toCompactGraph();
+
+        assertEquals(g.getVertices().size(), cg.getVertexCount());
+        assertEquals(g.getEdges().size(), cg.getEdgeCount());
+        // Every undirected edge appears once per endpoint
+        assertEquals(2 * cg.getEdgeCount(), cg.adjacencyEnd(cg.getVertexCount() - 1));
+        assertEquals("A", cg.getVertexId(cg.indexOf("A")));
+        assertEquals(-1, cg.indexOf("Z"));
+    }
+
+    @Test
+    void testCompactGraphRunsMatchGraphRuns() {
+        Graph g = buildSimpleGraph();
+        CompactGraph cg = g.toCompactGraph();
+
+        AlgorithmResult primResult = prim.run(cg);
+        AlgorithmResult kruskalResult = kruskal.run(cg);
+
+        assertEquals(prim.run(g).getTotalCost(), primResult.getTotalCost(), 1e-6);
+        assertEquals(kruskal.run(g).getTotalCost(), kruskalResult.getTotalCost(), 1e-6);
+        assertTrue(isAcyclic(primResult.getEdges()), "CSR Prim MST must be acyclic");
+        assertTrue(isConnected(kruskalResult.getEdges(), cg.getVertexCount()),
+                "CSR Kruskal MST should connect all vertices");
+    }
+
+    @Test
+    void testCompactGraphDisconnected() {
+        CompactGraph cg = buildDisconnectedGraph().toCompactGraph();
+
+        assertTrue(prim.run(cg).getEdges().size() < cg.getVertexCount() - 1);
+        assertTrue(kruskal.run(cg).getEdges().size() < cg.getVertexCount() - 1);
+    }
+
     // -------------------------------------------------------
     // PERFORMANCE & CONSISTENCY TESTS
     // -------------------------------------------------------
@@ -0,0 +1,438 @@
+package assignment_3.algorithms;
+
+import assignment_3.metrics.MSTMetrics;
+import assignment_3.metrics.PhaseEvent;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Edge;
+import assignment_3.model.Graph;
+import assignment_3.model.OffHeapEdgeStore;
+import assignment_3.model.Vertex;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cross-checks every MST engine against plain Kruskal on random graphs.
+ *
+ * Covers:
+ *  a) Equal total cost and V-1 edges on connected graphs (integral and fractional weights)
+ *  b) The shared building blocks: indexed heap, disjoint set, primitive edge sorting
+ *  c) Metrics and Flight Recorder phase events
+ *  d) The independent MST verifier
+ */
+public class MSTEngineConsistencyTest {
+
+    private final KruskalAlgorithm reference = new KruskalAlgorithm();
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+
+    @AfterEach
+    void shutDownPool() {
+        pool.shutdownNow();
+    }
+
+    private List<MSTAlgorithm> engines() {
+        return List.of(
+                new PrimAlgorithm(),
+                new IndexedPrimAlgorithm(),
+                new IndexedPrimAlgorithm(2),
+                new DensePrimAlgorithm(),
+                new BoruvkaAlgorithm(),
+                new BoruvkaAlgorithm(pool, 0),
+                new FilterKruskalAlgorithm(),
+                new FilterKruskalAlgorithm(pool, 16, 64),
+                new AdaptiveMSTAlgorithm());
+    }
+
+    // -------------------------------------------------------
+    // Helper: random connected graph (chain + random extra edges)
+    // -------------------------------------------------------
+    static Graph randomConnectedGraph(int vertices, int edges, boolean integralWeights, long seed) {
+        Random rand = new Random(seed);
+        Graph g = new Graph();
+        for (int i = 1; i <= vertices; i++) g.addVertex("V" + i);
+        for (int i = 1; i < vertices; i++) {
+            g.addEdge("V" + i, "V" + (i + 1), weight(rand, integralWeights));
+        }
+        for (int e = vertices - 1; e < edges; e++) {
+            int a = rand.nextInt(vertices) + 1;
+            int b = rand.nextInt(vertices) + 1;
+            if (a == b) continue;
+            g.addEdge("V" + a, "V" + b, weight(rand, integralWeights));
+        }
+        return g;
+    }
+
+    private static double weight(Random rand, boolean integral) {
+        return integral ? rand.nextInt(100) + 1 : rand.nextDouble() * 100;
+    }
+
+    // -------------------------------------------------------
+    // ENGINE CONSISTENCY
+    // -------------------------------------------------------
+
+    @Test
+    void testEnginesAgreeOnIntegralWeights() {
+        for (long seed = 1; seed <= 5; seed++) {
+            assertEnginesAgree(randomConnectedGraph(200, 2000, true, seed));
+        }
+    }
+
+    @Test
+    void testEnginesAgreeOnFractionalWeights() {
+        for (long seed = 1; seed <= 5; seed++) {
+            assertEnginesAgree(randomConnectedGraph(300, 1200, false, seed));
+        }
+    }
+
+    @Test
+    void testEnginesHandleSingleVertex() {
+        Graph g = new Graph();
+        g.addVertex("A");
+        for (MSTAlgorithm engine : engines()) {
+            AlgorithmResult result = engine.run(g);
+            assertEquals(0, result.getEdges().size(), engine.getName());
+            assertEquals(0.0, result.getTotalCost(), 1e-9, engine.getName());
+        }
+    }
+
+    @Test
+    void testEnginesSpanDisconnectedGraphAsForest() {
+        Graph g = randomConnectedGraph(100, 400, true, 11);
+        Graph other = randomConnectedGraph(50, 150, true, 12);
+        for (Vertex v : other.getVertices()) g.addVertex("W" + v.getId());
+        for (Edge e : other.getEdges()) {
+            g.addEdge("W" + e.getFrom().getId(), "W" + e.getTo().getId(), e.getWeight());
+        }
+
+        double expected = reference.run(g).getTotalCost();
+        List<MSTAlgorithm> engines = new ArrayList<>(List.of(new DensePrimAlgorithm(),
+                new BoruvkaAlgorithm(), new BoruvkaAlgorithm(pool, 0),
+                new FilterKruskalAlgorithm(pool, 16, 64)));
+        // Adaptive forced onto each branch: DensePrim, Boruvka, IndexedPrim, FilterKruskal, Kruskal
+        double never = Double.POSITIVE_INFINITY;
+        engines.add(new AdaptiveMSTAlgorithm(new AdaptiveMSTAlgorithm.Thresholds(0, never, never, Long.MAX_VALUE, Long.MAX_VALUE), 1));
+        engines.add(new AdaptiveMSTAlgorithm(new AdaptiveMSTAlgorithm.Thresholds(never, never, never, 0, Long.MAX_VALUE), 2));
+        engines.add(new AdaptiveMSTAlgorithm(new AdaptiveMSTAlgorithm.Thresholds(never, 0, 0, Long.MAX_VALUE, Long.MAX_VALUE), 1));
+        engines.add(new AdaptiveMSTAlgorithm(new AdaptiveMSTAlgorithm.Thresholds(never, never, never, Long.MAX_VALUE, 0), 1));
+        engines.add(new AdaptiveMSTAlgorithm(new AdaptiveMSTAlgorithm.Thresholds(never, never, never, Long.MAX_VALUE, Long.MAX_VALUE), 1));
+
+        Set<String> adaptiveBranches = new HashSet<>();
+        for (MSTAlgorithm engine : engines) {
+            String name = engine.getName();
+            if (engine instanceof AdaptiveMSTAlgorithm) {
+                name += "/" + ((AdaptiveMSTAlgorithm) engine).choose(g).getName();
+                adaptiveBranches.add(name);
+            }
+            AlgorithmResult result = engine.run(g);
+            assertEquals(expected, result.getTotalCost(), 1e-6, name);
+            assertEquals(148, result.getEdges().size(), name + " forest edge count");
+        }
+        assertEquals(Set.of("Adaptive/DensePrim", "Adaptive/Boruvka", "Adaptive/IndexedPrimForest",
+                "Adaptive/FilterKruskal", "Adaptive/Kruskal"), adaptiveBranches);
+    }
+
+    @Test
+    void testSpanningForestSolvesEveryComponent() {
+        Graph g = new Graph();
+        long seed = 40;
+        for (int island = 0; island < 25; island++) {
+            Graph part = randomConnectedGraph(5 + island * 3, 20 + island * 10, island % 2 == 0, seed++);
+            for (Vertex v : part.getVertices()) g.addVertex("I" + island + "_" + v.getId());
+            for (Edge e : part.getEdges()) {
+                g.addEdge("I" + island + "_" + e.getFrom().getId(), "I" + island + "_" + e.getTo().getId(), e.getWeight());
+            }
+        }
+        for (int i = 0; i < 10; i++) g.addVertex("Lonely" + i);
+
+        double expected = reference.run(g).getTotalCost();
+        int v = g.getVertices().size();
+        for (MSTAlgorithm engine : List.of(new PrimAlgorithm(), new KruskalAlgorithm(), new DensePrimAlgorithm())) {
+            MSTForest forest = new SpanningForestAlgorithm(engine, pool).solve(g);
+            assertEquals(35, forest.getComponentCount(), engine.getName());
+            assertEquals(expected, forest.getTotalCost(), 1e-6, engine.getName());
+            assertEquals(v - 35, forest.getForestEdgeCount(), engine.getName());
+            assertEquals("I0_V1", forest.getComponents().get(0).getFirstVertex());
+            for (MSTForest.Component c : forest.getComponents()) {
+                assertEquals(c.getVertexCount() - 1, c.getTree().getEdges().size());
+            }
+            assertEquals(expected, forest.toAlgorithmResult().getTotalCost(), 1e-6);
+        }
+        assertTrue(new PrimAlgorithm().run(g).getTotalCost() < expected, "plain Prim only spans one island");
+    }
+
+    private void assertEnginesAgree(Graph g) {
+        CompactGraph cg = g.toCompactGraph();
+        double expected = reference.run(g).getTotalCost();
+        int v = g.getVertices().size();
+
+        for (MSTAlgorithm engine : engines()) {
+            AlgorithmResult onGraph = engine.run(g);
+            AlgorithmResult onCompact = engine.run(cg);
+            assertEquals(expected, onGraph.getTotalCost(), 1e-6, engine.getName() + " on Graph");
+            assertEquals(expected, onCompact.getTotalCost(), 1e-6, engine.getName() + " on CompactGraph");
+            assertEquals(v - 1, onGraph.getEdges().size(), engine.getName() + " edge count");
+            assertEquals(v - 1, onCompact.getEdges().size(), engine.getName() + " edge count");
+        }
+    }
+
+    @Test
+    void testVerifierAcceptsEveryEngine() {
+        Graph g = randomConnectedGraph(300, 3000, true, 31);
+        for (MSTAlgorithm engine : engines()) {
+            MSTVerifier.Report report = MSTVerifier.verify(g, engine.run(g));
+            assertTrue(report.isValid(), engine.getName() + ": " + report);
+        }
+        Graph forest = randomConnectedGraph(60, 200, false, 32);
+        forest.addVertex("Isolated");
+        assertTrue(MSTVerifier.verify(forest, reference.run(forest)).isValid());
+    }
+
+    @Test
+    void testVerifierRejectsBrokenTrees() {
+        Graph g = randomConnectedGraph(200, 1500, false, 33);
+        AlgorithmResult mst = reference.run(g);
+        List<Edge> tree = mst.getEdges();
+
+        // Swap the lightest tree edge for the heaviest graph edge that reconnects the cut
+        Edge dropped = tree.stream().min(Comparator.comparingDouble(Edge::getWeight)).orElseThrow();
+        List<Edge> rest = new ArrayList<>(tree);
+        rest.remove(dropped);
+        DisjointSet sets = new DisjointSet(g.getVertices().size());
+        CompactGraph cg = g.toCompactGraph();
+        for (Edge e : rest) sets.union(cg.indexOf(e.getFrom().getId()), cg.indexOf(e.getTo().getId()));
+        Edge heavier = g.getEdges().stream()
+                .filter(e -> !sets.connected(cg.indexOf(e.getFrom().getId()), cg.indexOf(e.getTo().getId())))
+                .max(Comparator.comparingDouble(Edge::getWeight)).orElseThrow();
+        assertTrue(heavier.getWeight() > dropped.getWeight());
+        List<Edge> swapped = new ArrayList<>(rest);
+        swapped.add(heavier);
+        double swappedCost = mst.getTotalCost() - dropped.getWeight() + heavier.getWeight();
+        MSTVerifier.Report notMinimal = MSTVerifier.verify(g, result(swappedCost, swapped));
+        assertTrue(notMinimal.isSpanningTree(), notMinimal.toString());
+        assertFalse(notMinimal.isMinimal());
+        assertTrue(notMinimal.getViolations() >= 1);
+
+        MSTVerifier.Report missing = MSTVerifier.verify(g, result(mst.getTotalCost() - dropped.getWeight(), rest));
+        assertFalse(missing.isSpanningTree());
+
+        List<Edge> foreign = new ArrayList<>(rest);
+        foreign.add(new Edge(dropped.getFrom(), dropped.getTo(), dropped.getWeight() + 0.5));
+        assertFalse(MSTVerifier.verify(g, result(mst.getTotalCost() + 0.5, foreign)).isSpanningTree());
+
+        assertFalse(MSTVerifier.verify(g, result(mst.getTotalCost() + 1, tree)).isValid(), "wrong total cost");
+    }
+
+    private static AlgorithmResult result(double cost, List<Edge> edges) {
+        return new AlgorithmResult(cost, 0, 0, edges.size() + 1, edges.size(), edges);
+    }
+
+    @Test
+    void testEnginesAgreeOnCompleteGraph() {
+        assertEnginesAgree(randomConnectedGraph(120, 120 * 119 / 2, false, 21));
+    }
+
+    @Test
+    void testExternalKruskalSpillsAndMergesRuns(@TempDir Path dir) throws Exception {
+        Graph g = randomConnectedGraph(2000, 20000, false, 31);
+        double expected = reference.run(g).getTotalCost();
+
+        // 20000 edges in runs of 700 -> 29 runs, merged 4 at a time in two passes
+        AlgorithmResult result = new ExternalKruskalAlgorithm(dir, 700, 4).run(g);
+        assertEquals(expected, result.getTotalCost(), 1e-6);
+        assertEquals(1999, result.getEdges().size());
+        try (var left = java.nio.file.Files.list(dir)) {
+            assertEquals(0, left.count(), "spilled runs are removed");
+        }
+
+        Graph forest = randomConnectedGraph(300, 900, true, 32);
+        forest.addEdge("X1", "X2", 5);
+        assertEquals(reference.run(forest).getTotalCost(),
+                new ExternalKruskalAlgorithm(dir, 128, 2).run(forest).getTotalCost(), 1e-6);
+    }
+
+    @Test
+    void testEnginesRunOnOffHeapEdgeStore(@TempDir Path dir) throws Exception {
+        Graph g = randomConnectedGraph(400, 3000, false, 27);
+        double expected = reference.run(g).getTotalCost();
+        CompactGraph cg = g.toCompactGraph();
+
+        for (Path file : Arrays.asList(null, dir.resolve("edges.bin"))) {
+            try (OffHeapEdgeStore store = OffHeapEdgeStore.copyOf(cg, file)) {
+                assertEquals(cg.getEdgeCount(), store.getEdgeCount());
+                assertEquals(cg.adjacencyEnd(7) - cg.adjacencyStart(7), store.adjacencyEnd(7) - store.adjacencyStart(7));
+                assertEquals(expected, new KruskalAlgorithm().run(store).getTotalCost(), 1e-6);
+                AlgorithmResult prim = new IndexedPrimAlgorithm().run(store);
+                assertEquals(expected, prim.getTotalCost(), 1e-6);
+                assertEquals(399, prim.getEdges().size());
+                assertThrows(IllegalStateException.class, () -> store.addEdge(0, 1, 1.0));
+            }
+        }
+
+        OffHeapEdgeStore small = OffHeapEdgeStore.allocateDirect(1);
+        small.addEdge("A", "B", 2.0);
+        assertThrows(IllegalStateException.class, () -> small.addEdge("B", "C", 1.0), "capacity exceeded");
+        assertThrows(IllegalStateException.class, () -> small.adjacencyStart(0), "adjacency before freeze");
+    }
+
+    @Test
+    void testPartitionedWorkersMergeToTheMST() {
+        Graph g = randomConnectedGraph(400, 4000, true, 29);
+        Graph other = randomConnectedGraph(60, 240, true, 30);
+        for (Edge e : other.getEdges()) g.addEdge("W" + e.getFrom().getId(), "W" + e.getTo().getId(), e.getWeight());
+
+        AlgorithmResult expected = reference.run(g);
+        AlgorithmResult partitioned = new PartitionedMSTAlgorithm(3, List.of("-Xmx64m")).run(g);
+        assertEquals(expected.getTotalCost(), partitioned.getTotalCost(), 1e-6);
+        assertEquals(458, partitioned.getEdges().size());
+        assertTrue(MSTVerifier.verify(g, partitioned).isValid());
+
+        // Local forests alone, as every worker computes them
+        int[] forest = PartitionWorker.localForest(4, new int[]{0, 1, 0, 2}, new int[]{1, 2, 2, 3},
+                new double[]{1, 1, 1, 5});
+        assertArrayEquals(new int[]{0, 1, 3}, forest, "ties resolved by request position");
+    }
+
+    @Test
+    void testAdaptiveDispatchFollowsThresholds() {
+        AdaptiveMSTAlgorithm adaptive = new AdaptiveMSTAlgorithm(
+                new AdaptiveMSTAlgorithm.Thresholds(0.5, 8, 32, 1_000_000, 10_000), 4);
+
+        assertEquals("DensePrim", adaptive.choose(100, 4000, true).getName());     // density ~0.81
+        assertEquals("Boruvka", adaptive.choose(500_000, 2_000_000, true).getName());
+        assertEquals("IndexedPrimForest", adaptive.choose(1000, 5000, false).getName()); // degree 10
+        assertEquals("Kruskal", adaptive.choose(1000, 5000, true).getName());      // integral: radix sort
+        assertEquals("FilterKruskal", adaptive.choose(100_000, 200_000, false).getName());
+        assertEquals("Kruskal", adaptive.choose(1000, 1500, false).getName());
+        assertEquals("FilterKruskal", new AdaptiveMSTAlgorithm(
+                AdaptiveMSTAlgorithm.Thresholds.load(), 1).choose(500_000, 5_000_000, true).getName());
+    }
+
+    // -------------------------------------------------------
+    // INDEXED HEAP
+    // -------------------------------------------------------
+
+    @Test
+    void testIndexedHeapPollsInPriorityOrder() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(6, 3);
+        heap.insert(0, 5.0);
+        heap.insert(1, 3.0);
+        heap.insert(2, 8.0);
+        heap.insert(3, 1.0);
+        heap.insertOrDecrease(2, 0.5); // decrease-key moves 2 to the front
+        heap.insertOrDecrease(0, 9.0); // larger priority is ignored
+
+        assertEquals(4, heap.size());
+        assertEquals(2, heap.pollMin());
+        assertEquals(3, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+        assertEquals(0, heap.pollMin());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+    }
+
+    // -------------------------------------------------------
+    // DISJOINT SET
+    // -------------------------------------------------------
+
+    @Test
+    void testDisjointSetTracksComponents() {
+        DisjointSet ds = new DisjointSet(5);
+        assertTrue(ds.union(0, 1));
+        assertTrue(ds.union(3, 4));
+        assertFalse(ds.union(1, 0), "second union of the same pair must report a cycle");
+        assertTrue(ds.connected(0, 1));
+        assertFalse(ds.connected(1, 3));
+        assertEquals(3, ds.componentCount());
+    }
+
+    @Test
+    void testDisjointSetLongChainDoesNotOverflow() {
+        int n = 1_000_000;
+        DisjointSet ds = new DisjointSet(n);
+        for (int i = 1; i < n; i++) ds.union(i - 1, i);
+        assertEquals(1, ds.componentCount());
+        assertTrue(ds.connected(0, n - 1));
+    }
+
+    // -------------------------------------------------------
+    // EDGE SORTER
+    // -------------------------------------------------------
+
+    @Test
+    void testEdgeSorterMatchesStableSort() {
+        Random rand = new Random(7);
+        double[] integral = new double[5000];
+        double[] fractional = new double[5000];
+        for (int i = 0; i < integral.length; i++) {
+            integral[i] = rand.nextInt(2000) - 1000;   // negative keys and many ties
+            fractional[i] = rand.nextInt(50) == 0 ? 0.5 : rand.nextGaussian() * 1e6;
+        }
+        double[] nearlyEqual = new double[3000];
+        for (int i = 0; i < nearlyEqual.length; i++) {
+            nearlyEqual[i] = 1.0 + rand.nextInt(64) * Math.ulp(1.0); // differ only in low mantissa bits
+        }
+
+        for (double[] weights : List.of(integral, fractional, nearlyEqual, new double[]{3, 1, 2})) {
+            Integer[] expected = new Integer[weights.length];
+            for (int i = 0; i < expected.length; i++) expected[i] = i;
+            Arrays.sort(expected, Comparator.comparingDouble(i -> weights[i])); // stable: ties by index
+
+            int[] actual = EdgeSorter.sortByWeight(weights);
+            assertArrayEquals(Arrays.stream(expected).mapToInt(Integer::intValue).toArray(), actual);
+        }
+    }
+
+    // -------------------------------------------------------
+    // METRICS AND JFR EVENTS
+    // -------------------------------------------------------
+
+    /** Exact counter values are checked by MSTMetricsTest, which surefire runs with metrics on. */
+    @Test
+    void testMetricsMatchTheSystemProperty() {
+        Graph g = randomConnectedGraph(50, 200, true, 3);
+        for (MSTAlgorithm engine : List.of(new PrimAlgorithm(), new IndexedPrimAlgorithm(), new KruskalAlgorithm())) {
+            MSTMetrics metrics = engine.run(g).getMetrics();
+            assertEquals(MSTMetrics.ENABLED, metrics != null, engine.getName());
+            if (metrics != null) {
+                assertTrue(metrics.getHeapPops() + metrics.getUnions() > 0, engine.getName());
+            }
+        }
+    }
+
+    @Test
+    void testEnginesEmitPhaseEvents(@TempDir Path dir) throws Exception {
+        Graph g = randomConnectedGraph(100, 400, true, 5);
+        Path dump = dir.resolve("phases.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PhaseEvent.class).withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            new KruskalAlgorithm().run(g);
+            new IndexedPrimAlgorithm().run(g);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        Set<String> phases = new HashSet<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (!event.getEventType().getName().equals("assignment_3.MSTPhase")) continue;
+            phases.add(event.getString("component") + "/" + event.getString("phase"));
+            assertEquals(g.getEdges().size(), event.getLong("edges"));
+        }
+        assertEquals(Set.of("Kruskal/sort", "Kruskal/main-loop", "IndexedPrim/main-loop"), phases);
+    }
+}
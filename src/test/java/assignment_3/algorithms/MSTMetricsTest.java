@@ -0,0 +1,70 @@
+package assignment_3.algorithms;
+
+import assignment_3.metrics.MSTMetrics;
+import assignment_3.model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exact operation counters on a small fixed graph. {@link MSTMetrics#ENABLED}
+ * is read once per JVM, so this class runs in its own surefire execution with
+ * -Dmst.metrics=true (see pom.xml) and is skipped everywhere else.
+ */
+@EnabledIfSystemProperty(named = "mst.metrics", matches = "true")
+public class MSTMetricsTest {
+
+    /** Square A-B-C-D with weights 1..4 and the diagonal A-C of weight 5. */
+    private static Graph square() {
+        Graph g = new Graph();
+        for (String id : new String[]{"A", "B", "C", "D"}) g.addVertex(id);
+        g.addEdge("A", "B", 1);
+        g.addEdge("B", "C", 2);
+        g.addEdge("C", "D", 3);
+        g.addEdge("D", "A", 4);
+        g.addEdge("A", "C", 5);
+        return g;
+    }
+
+    @Test
+    void testMetricsAreEnabled() {
+        assertTrue(MSTMetrics.ENABLED);
+    }
+
+    @Test
+    void testKruskalCountsOneUnionPerTreeEdge() {
+        MSTMetrics metrics = new KruskalAlgorithm().run(square()).getMetrics();
+        assertNotNull(metrics);
+        assertEquals(3, metrics.getUnions(), "V - 1");
+        assertEquals(6, metrics.getFinds(), "two finds per examined edge, stopping after V - 1 unions");
+        assertEquals(2, metrics.getCompressionSteps());
+        assertEquals(0, metrics.getHeapPops());
+    }
+
+    @Test
+    void testIndexedPrimPopsEveryVertexOnce() {
+        MSTMetrics metrics = new IndexedPrimAlgorithm().run(square()).getMetrics();
+        assertNotNull(metrics);
+        assertEquals(4, metrics.getHeapPops(), "V");
+        assertEquals(4, metrics.getHeapPushes(), "V");
+        assertEquals(2, metrics.getDecreaseKeys(), "C: 5 -> 2, D: 4 -> 3");
+        assertEquals(0, metrics.getStalePops());
+        assertEquals(0, metrics.getUnions());
+    }
+
+    @Test
+    void testLazyPrimCountsPushesAndPops() {
+        MSTMetrics metrics = new PrimAlgorithm().run(square()).getMetrics();
+        assertNotNull(metrics);
+        assertEquals(5, metrics.getHeapPushes(), "A's three edges, then B-C and C-D");
+        assertEquals(3, metrics.getHeapPops(), "one per tree edge");
+        assertEquals(0, metrics.getStalePops());
+        assertTrue(metrics.getComparisons() > 0);
+    }
+
+    @Test
+    void testParallelEnginesDoNotReportMetrics() {
+        assertNull(new BoruvkaAlgorithm().run(square()).getMetrics());
+    }
+}
@@ -0,0 +1,115 @@
+package assignment_3.cache;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.KruskalAlgorithm;
+import assignment_3.algorithms.MSTAlgorithm;
+import assignment_3.algorithms.TimingStats;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the content hash, the two cache levels and the caching decorator.
+ */
+public class MSTResultCacheTest {
+
+    private static Graph triangle(double ab) {
+        Graph g = new Graph();
+        g.addEdge("A", "B", ab);
+        g.addEdge("B", "C", 2);
+        g.addEdge("A", "C", 3);
+        return g;
+    }
+
+    @Test
+    void testHashDependsOnContentOnly() {
+        Graph g = triangle(1);
+        assertEquals(GraphHasher.hash(g), GraphHasher.hash(triangle(1)));
+        assertEquals(GraphHasher.hash(g), GraphHasher.hash(CompactGraph.from(g)), "Graph and CSR forms agree");
+        assertNotEquals(GraphHasher.hash(g), GraphHasher.hash(triangle(1.5)));
+        assertEquals(32, GraphHasher.hash(g).length());
+
+        Graph renamed = new Graph();
+        renamed.addEdge("A", "B", 1);
+        renamed.addEdge("B", "D", 2);
+        renamed.addEdge("A", "D", 3);
+        assertNotEquals(GraphHasher.hash(g), GraphHasher.hash(renamed));
+    }
+
+    @Test
+    void testDiskLevelSurvivesNewCacheInstance(@TempDir Path dir) throws Exception {
+        Graph g = triangle(1);
+        String hash = GraphHasher.hash(g);
+        AlgorithmResult result = new KruskalAlgorithm().run(g)
+                .withTiming(TimingStats.of(2, new long[]{300, 100, 200}, 64));
+        new MSTResultCache(dir, 1 << 20).put(hash, "Kruskal", result);
+
+        MSTResultCache fresh = new MSTResultCache(dir, 1 << 20);
+        assertNull(fresh.get(hash, "Prim"));
+        AlgorithmResult loaded = fresh.get(hash, "Kruskal");
+        assertNotNull(loaded);
+        assertEquals(result.getTotalCost(), loaded.getTotalCost(), 1e-12);
+        assertEquals(2, loaded.getEdges().size());
+        assertArrayEquals(new long[]{300, 100, 200}, loaded.getTiming().getSamples());
+        assertEquals(1, fresh.getDiskHits());
+
+        fresh.get(hash, "Kruskal");
+        assertEquals(1, fresh.getMemoryHits(), "second lookup is served from memory");
+
+        // Corrupt entries are misses, not failures
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.writeString(p, "{not json");
+        }
+        assertNull(new MSTResultCache(dir, 1 << 20).get(hash, "Kruskal"));
+    }
+
+    @Test
+    void testMemoryLevelEvictsLeastRecentlyUsed() {
+        MSTResultCache cache = new MSTResultCache(null, 1000);
+        AlgorithmResult result = new KruskalAlgorithm().run(triangle(1)); // ~512 bytes estimated
+        cache.put("h1", "Kruskal", result);
+        cache.put("h2", "Kruskal", result);
+        assertNull(cache.get("h1", "Kruskal"), "h1 evicted to stay within budget");
+        assertNotNull(cache.get("h2", "Kruskal"));
+        assertTrue(cache.getMemoryBytes() <= 1000);
+    }
+
+    @Test
+    void testDecoratorSkipsRecomputation(@TempDir Path dir) {
+        AtomicInteger runs = new AtomicInteger();
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        MSTAlgorithm counting = new MSTAlgorithm() {
+            @Override
+            public String getName() {
+                return "Kruskal";
+            }
+
+            @Override
+            public AlgorithmResult run(Graph graph) {
+                runs.incrementAndGet();
+                return kruskal.run(graph);
+            }
+
+            @Override
+            public AlgorithmResult run(CompactGraph graph) {
+                runs.incrementAndGet();
+                return kruskal.run(graph);
+            }
+        };
+
+        CachingMSTAlgorithm cached = new CachingMSTAlgorithm(counting, new MSTResultCache(dir, 1 << 20));
+        double first = cached.run(triangle(1)).getTotalCost();
+        assertEquals(first, cached.run(triangle(1)).getTotalCost(), 1e-12);
+        assertEquals(first, cached.run(CompactGraph.from(triangle(1))).getTotalCost(), 1e-12);
+        assertEquals(1, runs.get());
+        cached.run(triangle(5));
+        assertEquals(2, runs.get());
+    }
+}
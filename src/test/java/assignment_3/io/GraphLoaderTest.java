@@ -0,0 +1,183 @@
+package assignment_3.io;
+
+import assignment_3.io.GraphLoader.NamedGraph;
+import assignment_3.io.StreamingGraphLoader.NamedCompactGraph;
+import assignment_3.algorithms.KruskalAlgorithm;
+import assignment_3.io.MappedGraphFile.MappedGraph;
+import assignment_3.model.CompactGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for graph input formats.
+ *
+ * Covers:
+ *  a) Streaming JSON: bundled inputs, field order independence, malformed input
+ *  b) Binary format: JSON conversion round trip, float/double weights, mapped Kruskal
+ */
+public class GraphLoaderTest {
+
+    private static final String SMALL = "src/main/resources/input_small.json";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoadsBundledInput() throws IOException {
+        List<NamedGraph> graphs = new GraphLoader().loadGraphs(SMALL);
+
+        assertEquals(3, graphs.size());
+        assertEquals("SmallGraph1", graphs.get(0).getName());
+        assertEquals(4, graphs.get(0).getGraph().getVertices().size());
+        assertEquals(5, graphs.get(0).getGraph().getEdges().size());
+    }
+
+    @Test
+    void testStreamsOneGraphAtATime() throws IOException {
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(SMALL)) {
+            NamedCompactGraph first = loader.nextCompactGraph();
+            assertEquals("SmallGraph1", first.getName());
+            assertEquals(5, first.getGraph().getEdgeCount());
+
+            assertNotNull(loader.nextGraph());
+            assertNotNull(loader.nextGraph());
+            assertNull(loader.nextGraph());
+            assertNull(loader.nextGraph(), "reading past the end stays at the end");
+        }
+    }
+
+    @Test
+    void testFieldOrderAndUnknownFieldsAreTolerated() throws IOException {
+        Path file = tempDir.resolve("reordered.json");
+        Files.writeString(file, "{\"meta\": {\"source\": [1, 2]}, \"graphs\": [{"
+                + "\"edges\": [{\"weight\": 2.5, \"to\": \"B\", \"note\": {}, \"from\": \"A\"}],"
+                + "\"vertices\": [\"A\", \"B\", \"C\"],"
+                + "\"name\": \"Reordered\"}], \"trailer\": true}");
+
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(file.toString())) {
+            NamedCompactGraph g = loader.nextCompactGraph();
+            CompactGraph cg = g.getGraph();
+            assertEquals("Reordered", g.getName());
+            assertEquals(3, cg.getVertexCount());
+            assertEquals(1, cg.getEdgeCount());
+            assertEquals(2.5, cg.getEdgeWeight(0), 1e-9);
+            assertEquals("A", cg.getVertexId(cg.getEdgeFrom(0)));
+            assertNull(loader.nextCompactGraph());
+        }
+    }
+
+    @Test
+    void testMalformedEdgeIsRejected() throws IOException {
+        Path file = tempDir.resolve("broken.json");
+        Files.writeString(file, "{\"graphs\": [{\"name\": \"G\", \"edges\": [{\"from\": \"A\", \"weight\": 1}]}]}");
+
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(file.toString())) {
+            assertThrows(IOException.class, loader::nextGraph);
+        }
+    }
+
+    @Test
+    void testEdgeWithoutWeightIsRejected() throws IOException {
+        Path file = tempDir.resolve("unweighted.json");
+        Files.writeString(file, "{\"graphs\": [{\"name\": \"G\", \"vertices\": [\"A\", \"B\"],"
+                + " \"edges\": [{\"from\": \"A\", \"to\": \"B\"}]}]}");
+
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(file.toString())) {
+            IOException ex = assertThrows(IOException.class, loader::nextCompactGraph);
+            assertTrue(ex.getMessage().contains("weight"), ex.getMessage());
+        }
+    }
+
+    // -------------------------------------------------------
+    // BINARY FORMAT
+    // -------------------------------------------------------
+
+    @Test
+    void testJsonToBinaryRoundTrip() throws IOException {
+        String extraLarge = "src/main/resources/input_extra_large.json";
+        Path binary = tempDir.resolve("extra_large.mstg");
+        assertEquals(1, JsonToBinaryConverter.convert(extraLarge, binary));
+
+        CompactGraph expected;
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(extraLarge)) {
+            expected = loader.nextCompactGraph().getGraph();
+        }
+
+        try (MappedGraphFile file = MappedGraphFile.open(binary)) {
+            assertEquals(1, file.getGraphs().size());
+            MappedGraph mapped = file.getGraphs().get(0);
+            assertEquals("ExtraLargeGraph1", mapped.getName());
+            assertEquals(expected.getVertexCount(), mapped.getVertexCount());
+            assertEquals(expected.getEdgeCount(), mapped.getEdgeCount());
+            for (int e = 0; e < expected.getEdgeCount(); e++) {
+                assertEquals(expected.getEdgeFrom(e), mapped.getEdgeFrom(e));
+                assertEquals(expected.getEdgeTo(e), mapped.getEdgeTo(e));
+                assertEquals(expected.getEdgeWeight(e), mapped.getEdgeWeight(e), 0.0);
+            }
+
+            KruskalAlgorithm kruskal = new KruskalAlgorithm();
+            assertEquals(kruskal.run(expected).getTotalCost(), kruskal.run(mapped).getTotalCost(), 1e-6);
+            assertEquals(kruskal.run(expected).getTotalCost(),
+                    kruskal.run(mapped.toCompactGraph()).getTotalCost(), 1e-6);
+        }
+    }
+
+    @Test
+    void testBinaryKeepsDoubleWeightsAndMultipleGraphs() throws IOException {
+        CompactGraph first = new CompactGraph.Builder()
+                .addEdge("Ä", "B", 0.1)
+                .addEdge("B", "C", 1e-300)
+                .build();
+        CompactGraph second = new CompactGraph.Builder().addEdge("X", "Y", 3).build();
+
+        Path binary = tempDir.resolve("two.mstg");
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(binary)) {
+            writer.write("First", first, BinaryGraphFormat.fitsFloat(first));
+            writer.write("Second", second, BinaryGraphFormat.fitsFloat(second));
+        }
+        assertFalse(BinaryGraphFormat.fitsFloat(first));
+
+        try (MappedGraphFile file = MappedGraphFile.open(binary)) {
+            MappedGraph a = file.getGraphs().get(0);
+            MappedGraph b = file.getGraphs().get(1);
+            assertEquals("Ä", a.getVertexId(0));
+            assertEquals(0.1, a.getEdgeWeight(0), 0.0);
+            assertEquals(1e-300, a.getEdgeWeight(1), 0.0);
+            assertEquals("Second", b.getName());
+            assertEquals(3.0, b.getEdgeWeight(0), 0.0);
+        }
+    }
+
+    @Test
+    void testBinaryRoundTripOfEdgelessGraphs() throws IOException {
+        CompactGraph.Builder single = new CompactGraph.Builder();
+        single.addVertex("A");
+        CompactGraph.Builder three = new CompactGraph.Builder();
+        for (String id : List.of("P", "Q", "R")) three.addVertex(id);
+        CompactGraph tail = new CompactGraph.Builder().addEdge("X", "Y", 2.5).build();
+
+        Path binary = tempDir.resolve("edgeless.mstg");
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(binary)) {
+            writer.write("Single", single.build(), true);
+            writer.write("Three", three.build(), false);
+            writer.write("Tail", tail, false);
+        }
+
+        try (MappedGraphFile file = MappedGraphFile.open(binary)) {
+            List<MappedGraph> graphs = file.getGraphs();
+            assertEquals(3, graphs.size());
+            assertEquals(1, graphs.get(0).getVertexCount());
+            assertEquals(0, graphs.get(0).getEdgeCount());
+            assertEquals("R", graphs.get(1).getVertexId(2));
+            assertEquals(0, graphs.get(1).getEdgeCount());
+            assertEquals(2.5, graphs.get(2).getEdgeWeight(0), 0.0);
+        }
+    }
+}
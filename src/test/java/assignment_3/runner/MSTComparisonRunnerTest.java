@@ -0,0 +1,181 @@
+package assignment_3.runner;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.KruskalAlgorithm;
+import assignment_3.algorithms.TimingStats;
+import assignment_3.io.GraphLoader;
+import assignment_3.model.Graph;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the concurrent runner reports the same comparisons, in the same
+ * order, as the sequential one, and that the streaming sinks write the
+ * documented layouts.
+ */
+public class MSTComparisonRunnerTest {
+
+    @Test
+    void testParallelModeMatchesSequentialOrderAndCosts() throws Exception {
+        MSTComparisonRunner runner = new MSTComparisonRunner();
+        List<ComparisonResult> sequential = new ArrayList<>();
+        List<ComparisonResult> parallel = new ArrayList<>();
+
+        runner.run(RunnerOptions.parse(), sequential::add);
+        runner.run(RunnerOptions.parse("--parallel", "--cpu-threads", "3", "--io-threads", "2",
+                "--memory-fraction", "0.05"), parallel::add);
+
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            ComparisonResult s = sequential.get(i);
+            ComparisonResult p = parallel.get(i);
+            assertEquals(s.getDataset(), p.getDataset());
+            assertEquals(s.getGraphName(), p.getGraphName());
+            assertEquals(s.getPrim().getTotalCost(), p.getPrim().getTotalCost(), 1e-9);
+            assertEquals(s.getKruskal().getTotalCost(), p.getKruskal().getTotalCost(), 1e-9);
+            assertTrue(p.isEqualTotalCost(), p.getGraphName());
+        }
+    }
+
+    @Test
+    void testMissingDatasetFailsTheRun() {
+        MSTComparisonRunner runner = new MSTComparisonRunner();
+        RunnerOptions options = RunnerOptions.parse("--parallel", "does/not/exist.json");
+        assertThrows(java.io.IOException.class, () -> runner.run(options, r -> { }));
+    }
+
+    @Test
+    void testSinksStreamJsonAndCsv(@TempDir Path dir) throws Exception {
+        MSTComparisonRunner runner = new MSTComparisonRunner();
+        String input = "src/main/resources/input_small.json";
+        ObjectMapper mapper = new ObjectMapper();
+
+        for (EdgeOutput mode : EdgeOutput.values()) {
+            String prefix = dir.resolve("out_" + mode).toString();
+            runner.runAll(RunnerOptions.parse("--edges", mode.name().toLowerCase(), "--output", prefix, input));
+
+            JsonNode results = mapper.readTree(Path.of(prefix + ".json").toFile());
+            List<String> csv = Files.readAllLines(Path.of(prefix + ".csv"));
+            assertTrue(results.isArray() && results.size() > 0, mode.name());
+            assertEquals(results.size() + 1, csv.size(), "CSV header plus one line per graph");
+
+            JsonNode prim = results.get(0).get("prim");
+            assertEquals("input_small.json", results.get(0).get("dataset").asText());
+            assertEquals(mode == EdgeOutput.INLINE, prim.has("mst_edges"), mode.name());
+            assertEquals(mode == EdgeOutput.EXTERNAL, prim.has("mst_edges_file"), mode.name());
+            if (mode == EdgeOutput.INLINE) {
+                assertEquals(prim.get("vertex_count").asInt() - 1, prim.get("mst_edges").size());
+            }
+            if (mode == EdgeOutput.EXTERNAL) {
+                Path edges = dir.resolve(prim.get("mst_edges_file").asText());
+                long expected = 0;
+                for (JsonNode r : results) {
+                    expected += r.get("prim").get("vertex_count").asInt() - 1;
+                    expected += r.get("kruskal").get("vertex_count").asInt() - 1;
+                }
+                assertEquals(expected + 1, Files.readAllLines(edges).size());
+            }
+        }
+    }
+
+    @Test
+    void testCsvIgnoresDefaultLocaleAndQuotesIds(@TempDir Path dir) throws Exception {
+        Graph graph = new Graph();
+        graph.addVertex("x,1");
+        graph.addVertex("y\"2");
+        graph.addEdge("x,1", "y\"2", 1.25);
+        AlgorithmResult mst = new KruskalAlgorithm().run(graph).withTiming(TimingStats.of(0, new long[]{10, 13}, 8));
+        ComparisonResult result = new ComparisonResult("set,1", "Graph \"A\"", mst, mst);
+
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            Path csv = dir.resolve("out.csv");
+            try (CsvResultSink sink = new CsvResultSink(csv)) {
+                sink.accept(result);
+            }
+            String line = Files.readAllLines(csv).get(1);
+            assertTrue(line.startsWith("\"set,1\",\"Graph \"\"A\"\"\",1.25,1.25,"), line);
+            assertTrue(line.endsWith(",2.1,2.1,8,8"), "stddev with a decimal point: " + line);
+
+            Path edges = dir.resolve("out_edges.csv");
+            try (JsonResultSink sink = new JsonResultSink(Files.newOutputStream(dir.resolve("out.json")),
+                    EdgeOutput.EXTERNAL, edges)) {
+                sink.accept(result);
+            }
+            assertEquals("\"set,1\",\"Graph \"\"A\"\"\",Prim,\"x,1\",\"y\"\"2\",1.25",
+                    Files.readAllLines(edges).get(1));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void testTimingStatsSummarizeSamples() {
+        TimingStats stats = TimingStats.of(3, new long[]{50, 10, 40, 20, 30}, 1024);
+        assertEquals(5, stats.getTrials());
+        assertEquals(10, stats.getMinNanos());
+        assertEquals(30, stats.getMedianNanos());
+        assertEquals(50, stats.getP95Nanos());
+        assertEquals(30.0, stats.getMeanNanos(), 1e-9);
+        assertEquals(Math.sqrt(250.0), stats.getStddevNanos(), 1e-9);
+        assertArrayEquals(new long[]{50, 10, 40, 20, 30}, stats.getSamples(), "samples keep run order");
+    }
+
+    @Test
+    void testTrialTimerAttachesStatistics() throws Exception {
+        Graph graph = new GraphLoader().loadGraphs("src/main/resources/input_small.json").get(0).getGraph();
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+
+        AlgorithmResult result = new TrialTimer(2, 7).measure(kruskal, graph);
+        TimingStats timing = result.getTiming();
+        assertNotNull(timing);
+        assertEquals(7, timing.getSamples().length);
+        assertEquals(2, timing.getWarmupIterations());
+        assertTrue(timing.getMinNanos() > 0);
+        assertTrue(timing.getMinNanos() <= timing.getMedianNanos());
+        assertTrue(timing.getMedianNanos() <= timing.getP95Nanos());
+        assertTrue(timing.getAllocatedBytesPerRun() != 0, "allocation is either measured or reported as -1");
+        assertEquals(kruskal.run(graph).getTotalCost(), result.getTotalCost(), 1e-9);
+    }
+
+    @Test
+    void testCachedRunReusesMeasurements(@TempDir Path dir) throws Exception {
+        MSTComparisonRunner runner = new MSTComparisonRunner();
+        RunnerOptions options = RunnerOptions.parse("--cache", dir.toString(), "--trials", "3",
+                "src/main/resources/input_medium.json");
+        List<ComparisonResult> first = new ArrayList<>();
+        List<ComparisonResult> second = new ArrayList<>();
+        runner.run(options, first::add);
+        runner.run(options, second::add);
+
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals(first.get(i).getPrim().getTiming().getSamples(),
+                    second.get(i).getPrim().getTiming().getSamples(), "second run is served from the cache");
+            assertEquals(first.get(i).getKruskal().getTotalCost(), second.get(i).getKruskal().getTotalCost(), 1e-9);
+        }
+    }
+
+    @Test
+    void testHistoryRejectsCachedResults(@TempDir Path dir) {
+        assertThrows(IllegalArgumentException.class, () -> RunnerOptions.parse(
+                "--history", dir.resolve("history.jsonl").toString(), "--cache", dir.toString()));
+        assertThrows(IllegalArgumentException.class, () -> RunnerOptions.parse(
+                "--cache", dir.toString(), "--history", dir.resolve("history.jsonl").toString()));
+        assertThrows(IllegalArgumentException.class, () -> RunnerOptions.parse(
+                "--history", dir.resolve("history.jsonl").toString()), "single trials cannot be t-tested");
+        assertEquals(3, RunnerOptions.parse("--history", "h.jsonl", "--trials", "3").getTrials());
+    }
+}
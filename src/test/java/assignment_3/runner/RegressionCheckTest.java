@@ -0,0 +1,131 @@
+package assignment_3.runner;
+
+import assignment_3.algorithms.AlgorithmResult;
+import assignment_3.algorithms.KruskalAlgorithm;
+import assignment_3.algorithms.TimingStats;
+import assignment_3.io.GraphLoader;
+import assignment_3.model.Graph;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the baseline history round trip and the statistics behind the
+ * regression verdicts.
+ */
+public class RegressionCheckTest {
+
+    private static ComparisonResult timed(AlgorithmResult base, long[] primSamples, long[] kruskalSamples) {
+        return new ComparisonResult("input_small.json", "Graph1",
+                base.withTiming(TimingStats.of(0, primSamples, 1024)),
+                base.withTiming(TimingStats.of(0, kruskalSamples, 1024)));
+    }
+
+    @Test
+    void testHistoryAndRegressionCheck(@TempDir Path dir) throws Exception {
+        Graph graph = new GraphLoader().loadGraphs("src/main/resources/input_small.json").get(0).getGraph();
+        AlgorithmResult base = new KruskalAlgorithm().run(graph);
+        long[] steady = {100, 102, 98, 101, 99};
+        Path file = dir.resolve("history.jsonl");
+        try (BaselineHistory history = new BaselineHistory(file, "run-1", "v1")) {
+            history.accept(timed(base, steady, steady));
+        }
+        try (BaselineHistory history = new BaselineHistory(file, "run-2", null)) {
+            history.accept(timed(base, new long[]{300, 305, 295, 298, 302}, new long[]{101, 99, 100, 102, 98}));
+        }
+
+        List<BaselineHistory.Entry> entries = BaselineHistory.read(file);
+        assertEquals(4, entries.size(), "history is appended, not overwritten");
+        assertEquals(List.of("run-1", "run-2"), RegressionCheck.runs(entries));
+        assertEquals("run-1", RegressionCheck.resolve(entries, "v1"));
+        assertArrayEquals(steady, entries.get(0).getSamples());
+
+        RegressionCheck check = new RegressionCheck(0.10, 0.01);
+        List<RegressionCheck.Comparison> comparisons = check.compare(
+                RegressionCheck.entriesOf(entries, "run-1"), RegressionCheck.entriesOf(entries, "run-2"));
+        assertEquals(RegressionCheck.Status.REGRESSION, comparisons.get(0).getStatus());
+        assertEquals("Prim", comparisons.get(0).getCandidate().getAlgorithm());
+        assertEquals(2.0, comparisons.get(0).getChange(), 0.05);
+        assertEquals(RegressionCheck.Status.UNCHANGED, comparisons.get(1).getStatus());
+        assertEquals(2, RegressionCheck.tested(comparisons));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        check.writeReport(out, "run-1", "run-2", comparisons);
+        JsonNode report = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(1, report.get("regressions").asInt());
+        assertEquals("REGRESSION", report.get("comparisons").get(0).get("status").asText());
+        assertEquals(0, report.get("comparisons").get(0).get("operations_change").asLong());
+
+        try (BaselineHistory history = new BaselineHistory(file, "run-3", null)) {
+            history.accept(timed(base, new long[]{100}, new long[]{100}));
+        }
+        entries = BaselineHistory.read(file);
+        List<RegressionCheck.Comparison> single = check.compare(
+                RegressionCheck.entriesOf(entries, "run-2"), RegressionCheck.entriesOf(entries, "run-3"));
+        assertEquals(RegressionCheck.Status.INSUFFICIENT_DATA, single.get(0).getStatus());
+        assertEquals(0, RegressionCheck.tested(single), "single trials are never tested");
+    }
+
+    @Test
+    void testUntimedResultsAreRecordedWithoutSamples(@TempDir Path dir) throws Exception {
+        Graph graph = new GraphLoader().loadGraphs("src/main/resources/input_small.json").get(0).getGraph();
+        AlgorithmResult untimed = new KruskalAlgorithm().run(graph);
+        long[] steady = {100, 102, 98, 101, 99};
+        Path file = dir.resolve("history.jsonl");
+        try (BaselineHistory history = new BaselineHistory(file, "run-1", null)) {
+            history.accept(timed(untimed, steady, steady));
+        }
+        try (BaselineHistory history = new BaselineHistory(file, "run-2", null)) {
+            history.accept(new ComparisonResult("input_small.json", "Graph1", untimed, untimed));
+        }
+
+        List<BaselineHistory.Entry> entries = BaselineHistory.read(file);
+        assertEquals(0, entries.get(2).getSamples().length);
+        assertEquals(-1, entries.get(2).getAllocatedBytesPerRun());
+        JsonNode line = new ObjectMapper().readTree(Files.readAllLines(file).get(2));
+        assertFalse(line.has("median_ns"), "no median without timed samples");
+
+        RegressionCheck check = new RegressionCheck(0.10, 0.01);
+        List<RegressionCheck.Comparison> comparisons = check.compare(
+                RegressionCheck.entriesOf(entries, "run-1"), RegressionCheck.entriesOf(entries, "run-2"));
+        assertEquals(RegressionCheck.Status.INSUFFICIENT_DATA, comparisons.get(0).getStatus());
+        assertEquals(0, RegressionCheck.tested(comparisons));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        check.writeReport(out, "run-1", "run-2", comparisons);
+        JsonNode report = new ObjectMapper().readTree(out.toByteArray()).get("comparisons").get(0);
+        assertFalse(report.has("candidate_median_ns"));
+        assertFalse(report.has("median_change"));
+        assertEquals(0, report.get("candidate_trials").asInt());
+    }
+
+    @Test
+    void testWelchTestMatchesClosedForm() {
+        // Equal variances and two samples each give df = 2, where P(T > t) = 1/2 - t / (2 sqrt(t^2 + 2))
+        long[] a = {100, 102};
+        long[] b = {104, 106};
+        double t = 4 / Math.sqrt(2);
+        double expected = 0.5 - t / (2 * Math.sqrt(t * t + 2));
+        assertEquals(expected, RegressionCheck.welchOneSidedP(a, b), 1e-9);
+        assertEquals(1 - expected, RegressionCheck.welchOneSidedP(b, a), 1e-9);
+        assertEquals(0.5, RegressionCheck.welchOneSidedP(a, a), 1e-9);
+        assertEquals(0.0, RegressionCheck.welchOneSidedP(new long[]{5, 5}, new long[]{6, 6}), 1e-12, "no variance");
+    }
+
+    @Test
+    void testTrailingFlagWithoutValueIsRejected() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> RegressionCheck.main(new String[]{"--history"}));
+        assertTrue(ex.getMessage().contains("--history"), ex.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> RegressionCheck.main(new String[]{"--history", "h.jsonl", "--alpha"}));
+    }
+}
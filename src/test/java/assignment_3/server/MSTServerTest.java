@@ -0,0 +1,152 @@
+package assignment_3.server;
+
+import assignment_3.algorithms.KruskalAlgorithm;
+import assignment_3.io.GraphLoader;
+import assignment_3.model.Graph;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end tests for the loopback MST server: loading, querying, error
+ * statuses and sharing one computation between identical requests.
+ */
+public class MSTServerTest {
+
+    private static final String SMALL = "src/main/resources/input_small.json";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private MSTServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = new MSTServer(0);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testLoadQueryAndDelete() throws Exception {
+        String body = "{\"graphs\": [{\"name\": \"Tri\", \"vertices\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 1},"
+                + "{\"from\": \"B\", \"to\": \"C\", \"weight\": 2},"
+                + "{\"from\": \"A\", \"to\": \"C\", \"weight\": 3}]}]}";
+        HttpResponse<String> loaded = send("POST", "/graphs", body);
+        assertEquals(200, loaded.statusCode(), loaded.body());
+        assertEquals("Tri", mapper.readTree(loaded.body()).get("loaded").get(0).get("name").asText());
+
+        JsonNode mst = mapper.readTree(send("GET", "/mst/Tri?algorithm=IndexedPrim", null).body());
+        assertEquals(3.0, mst.get("total_cost").asDouble(), 1e-9);
+        assertEquals(2, mst.get("mst_edges").size());
+        assertNull(mapper.readTree(send("GET", "/mst/Tri?edges=omit", null).body()).get("mst_edges"));
+
+        assertEquals(400, send("GET", "/mst/Tri?algorithm=Nope", null).statusCode());
+        assertEquals(400, send("POST", "/graphs", "{\"graphs\": [").statusCode());
+        assertEquals(200, send("DELETE", "/graphs/Tri", null).statusCode());
+        assertEquals(404, send("GET", "/mst/Tri", null).statusCode());
+    }
+
+    @Test
+    void testBadEntryLeavesEarlierGraphsUntouched() throws Exception {
+        String tri = "{\"name\": \"Tri\", \"vertices\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 1}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 2}]}";
+        assertEquals(200, send("POST", "/graphs", "{\"graphs\": [" + tri + "]}").statusCode());
+        assertEquals(3.0, mapper.readTree(send("GET", "/mst/Tri", null).body()).get("total_cost").asDouble(), 1e-9);
+
+        String heavier = tri.replace("\"weight\": 2", "\"weight\": 20");
+        String body = "{\"graphs\": [" + heavier + ", {\"name\": \"New\", \"vertices\": [], \"edges\": []},"
+                + " {\"vertices\": [\"X\"], \"edges\": []}]}";
+        assertEquals(400, send("POST", "/graphs", body).statusCode(), "last entry has no name");
+
+        JsonNode graphs = mapper.readTree(send("GET", "/graphs", null).body()).get("graphs");
+        assertEquals(1, graphs.size(), "nothing of the rejected document is registered");
+        assertEquals(3.0, mapper.readTree(send("GET", "/mst/Tri", null).body()).get("total_cost").asDouble(), 1e-9);
+        assertEquals(1, server.getSharedResults(), "the cached result survived");
+    }
+
+    @Test
+    void testUnreadableFilesAndUnknownPaths() throws Exception {
+        HttpResponse<String> missing = send("POST", "/graphs?file=does/not/exist.json", null);
+        assertEquals(404, missing.statusCode());
+        assertEquals("Graph file not found", mapper.readTree(missing.body()).get("error").asText());
+        assertFalse(missing.body().contains("Exception"), missing.body());
+        assertFalse(missing.body().contains("does/not/exist"), missing.body());
+        assertEquals(400, send("POST", "/graphs?file=src", null).statusCode(), "a directory is not readable");
+
+        assertEquals(404, send("GET", "/graphsXYZ", null).statusCode());
+        assertEquals(404, send("POST", "/graphsXYZ", "{\"graphs\": []}").statusCode());
+        assertEquals(404, send("GET", "/statsXYZ", null).statusCode());
+        assertEquals(404, send("GET", "/stats/graphs", null).statusCode());
+        assertEquals(200, send("GET", "/stats", null).statusCode());
+        assertEquals(200, send("GET", "/graphs", null).statusCode());
+    }
+
+    @Test
+    void testLoadsLocalFileAndMatchesKruskal() throws Exception {
+        assertEquals(200, send("POST", "/graphs?file=" + SMALL, null).statusCode());
+        JsonNode graphs = mapper.readTree(send("GET", "/graphs", null).body()).get("graphs");
+
+        List<GraphLoader.NamedGraph> expected = new GraphLoader().loadGraphs(SMALL);
+        assertEquals(expected.size(), graphs.size());
+        for (GraphLoader.NamedGraph g : expected) {
+            Graph graph = g.getGraph();
+            JsonNode mst = mapper.readTree(send("GET", "/mst/" + g.getName() + "?algorithm=Prim", null).body());
+            assertEquals(new KruskalAlgorithm().run(graph).getTotalCost(), mst.get("total_cost").asDouble(), 1e-6);
+        }
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsShareOneComputation() throws Exception {
+        assertEquals(200, send("POST", "/graphs?file=" + SMALL, null).statusCode());
+        String name = new GraphLoader().loadGraphs(SMALL).get(0).getName();
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                responses.add(callers.submit(() -> send("GET", "/mst/" + name + "?edges=omit", null)));
+            }
+            for (Future<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.get().statusCode());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, server.getComputations());
+        assertEquals(31, server.getSharedResults());
+        JsonNode stats = mapper.readTree(send("GET", "/stats", null).body());
+        assertEquals(1, stats.get("computations").asLong());
+
+        // Reloading replaces the graph and drops its results
+        send("POST", "/graphs?file=" + SMALL, null);
+        send("GET", "/mst/" + name, null);
+        assertEquals(2, server.getComputations());
+    }
+}
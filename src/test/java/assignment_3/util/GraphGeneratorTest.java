@@ -0,0 +1,97 @@
+package assignment_3.util;
+
+import assignment_3.algorithms.KruskalAlgorithm;
+import assignment_3.io.MappedGraphFile;
+import assignment_3.io.MappedGraphFile.MappedGraph;
+import assignment_3.io.StreamingGraphLoader;
+import assignment_3.model.CompactGraph;
+import assignment_3.model.EdgeList;
+import assignment_3.util.GraphGenerator.Topology;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the synthetic graph generator.
+ *
+ * Covers:
+ *  a) Edge counts and connectivity for every topology
+ *  b) Identical output across formats and thread counts
+ */
+public class GraphGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEveryTopologyIsConnected() {
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        for (Topology topology : Topology.values()) {
+            GraphGenerator generator = new GraphGenerator(400, 2000, 3, topology, "T");
+            CompactGraph g = generator.toCompactGraph();
+
+            assertEquals(400, g.getVertexCount(), topology.name());
+            assertEquals(generator.getEdgeCount(), g.getEdgeCount(), topology.name());
+            assertEquals(399, kruskal.run(g).getEdges().size(), topology + " must be connected");
+            for (int e = 0; e < g.getEdgeCount(); e++) {
+                assertNotEquals(g.getEdgeFrom(e), g.getEdgeTo(e), topology + " self-loop");
+            }
+        }
+    }
+
+    @Test
+    void testDerivedEdgeCounts() {
+        assertEquals(20 * 19 / 2, new GraphGenerator(20, 0, 1, Topology.COMPLETE, "C").getEdgeCount());
+        // 10 x 10 grid: 10 rows * 9 horizontal + 9 * 10 vertical
+        assertEquals(180, new GraphGenerator(100, 0, 1, Topology.GRID, "G").getEdgeCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> new GraphGenerator(100, 10, 1, Topology.CHAIN_RANDOM, "X"));
+    }
+
+    @Test
+    void testSingleVertexRejectsExtraEdges() {
+        for (Topology topology : new Topology[]{Topology.CHAIN_RANDOM, Topology.POWER_LAW, Topology.GEOMETRIC}) {
+            GraphGenerator generator = new GraphGenerator(1, 5, 1, topology, "S");
+            assertThrows(IllegalArgumentException.class, generator::toCompactGraph, topology.name());
+        }
+    }
+
+    @Test
+    void testOutputIsIdenticalAcrossFormatsAndThreads() throws IOException {
+        // More edges than one block, so the parallel path writes several ranges
+        GraphGenerator generator = new GraphGenerator(5000, 200_000, 9, Topology.POWER_LAW, "P");
+        CompactGraph expected = generator.toCompactGraph();
+
+        Path json = tempDir.resolve("p.json");
+        Path sequential = tempDir.resolve("p1.mstg");
+        Path parallel = tempDir.resolve("p4.mstg");
+        generator.writeJson(json);
+        generator.writeBinary(sequential, 1);
+        generator.writeBinary(parallel, 4);
+
+        try (StreamingGraphLoader loader = new StreamingGraphLoader(json.toString())) {
+            assertSameEdges(expected, loader.nextCompactGraph().getGraph());
+        }
+        try (MappedGraphFile one = MappedGraphFile.open(sequential);
+             MappedGraphFile four = MappedGraphFile.open(parallel)) {
+            MappedGraph a = one.getGraphs().get(0);
+            assertEquals("P", a.getName());
+            assertSameEdges(expected, a);
+            assertSameEdges(expected, four.getGraphs().get(0));
+        }
+    }
+
+    private static void assertSameEdges(CompactGraph expected, EdgeList actual) {
+        assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int e = 0; e < expected.getEdgeCount(); e++) {
+            assertEquals(expected.getEdgeFrom(e), actual.getEdgeFrom(e));
+            assertEquals(expected.getEdgeTo(e), actual.getEdgeTo(e));
+            assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e), 0.0);
+        }
+    }
+}